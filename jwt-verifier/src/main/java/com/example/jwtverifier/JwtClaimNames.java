@@ -0,0 +1,18 @@
+package com.example.jwtverifier;
+
+//토큰 발급(TokenProvider)과 검증(JwtVerifier)이 함께 사용하는 클레임 키.
+//검증하는 쪽은 항상 두 형식을 모두 읽으므로, 발급 형식을 바꾸기 전에 검증하는 서비스부터 배포한다.
+public final class JwtClaimNames {
+
+    //기존 형식: ','로 구분된 권한 이름, 닉네임, 프로필 버전
+    public static final String AUTHORITIES = "auth";
+    public static final String NICKNAME = "nickname";
+    public static final String PROFILE_VERSION = "pv";
+
+    //압축 형식(jwt.compact.enabled): 권한 비트마스크(jwt.compact.authorities 순서), 닉네임, 프로필 버전
+    public static final String COMPACT_AUTHORITIES = "a";
+    public static final String COMPACT_NICKNAME = "n";
+    public static final String COMPACT_PROFILE_VERSION = "v";
+
+    private JwtClaimNames() {}
+}
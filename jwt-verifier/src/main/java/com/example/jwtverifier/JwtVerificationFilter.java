@@ -0,0 +1,99 @@
+package com.example.jwtverifier;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.security.Principal;
+
+//Authorization 헤더의 Bearer 토큰을 JwtVerifier로 검증하는 서블릿 필터.
+//검증에 성공하면 요청의 getUserPrincipal(), getRemoteUser(), isUserInRole()이 토큰의 정보를 돌려주고,
+//TokenPrincipal은 PRINCIPAL_ATTRIBUTE 요청 속성으로도 꺼낼 수 있다.
+//토큰이 없는 요청은 그대로 통과시킨다. (인증이 필요한 경로인지는 서비스가 판단한다)
+public class JwtVerificationFilter implements Filter {
+
+    public static final String PRINCIPAL_ATTRIBUTE = TokenPrincipal.class.getName();
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtVerifier verifier;
+    private final String headerName;
+    //true이면 잘못된 토큰에 401을 응답하고, false이면 인증되지 않은 요청으로 통과시킨다.
+    private final boolean rejectInvalid;
+
+    public JwtVerificationFilter(JwtVerifier verifier) {
+        this(verifier, "Authorization", true);
+    }
+
+    public JwtVerificationFilter(JwtVerifier verifier, String headerName, boolean rejectInvalid) {
+        this.verifier = verifier;
+        this.headerName = headerName;
+        this.rejectInvalid = rejectInvalid;
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        String header = request.getHeader(headerName);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            chain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+
+        VerificationResult result = verifier.verify(header.substring(BEARER_PREFIX.length()).trim());
+        if (result.isValid()) {
+            request.setAttribute(PRINCIPAL_ATTRIBUTE, result.getPrincipal());
+            chain.doFilter(new AuthenticatedRequest(request, result.getPrincipal()), servletResponse);
+            return;
+        }
+        if (rejectInvalid) {
+            HttpServletResponse response = (HttpServletResponse) servletResponse;
+            response.setHeader("WWW-Authenticate", "Bearer error=\"invalid_token\"");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        chain.doFilter(servletRequest, servletResponse);
+    }
+
+    //필터를 통과한 요청의 principal. 토큰이 없거나 검증에 실패했으면 null
+    public static TokenPrincipal getPrincipal(ServletRequest request) {
+        Object principal = request.getAttribute(PRINCIPAL_ATTRIBUTE);
+        return principal instanceof TokenPrincipal tokenPrincipal ? tokenPrincipal : null;
+    }
+
+    private static final class AuthenticatedRequest extends HttpServletRequestWrapper {
+        private final TokenPrincipal principal;
+
+        private AuthenticatedRequest(HttpServletRequest request, TokenPrincipal principal) {
+            super(request);
+            this.principal = principal;
+        }
+
+        @Override
+        public Principal getUserPrincipal() {
+            return principal;
+        }
+
+        @Override
+        public String getRemoteUser() {
+            return principal.getUsername();
+        }
+
+        @Override
+        public String getAuthType() {
+            return "Bearer";
+        }
+
+        //isUserInRole("ADMIN")과 isUserInRole("ROLE_ADMIN") 모두 ROLE_ADMIN 권한을 확인한다.
+        @Override
+        public boolean isUserInRole(String role) {
+            return principal.hasAuthority(role) || principal.hasAuthority("ROLE_" + role);
+        }
+    }
+}
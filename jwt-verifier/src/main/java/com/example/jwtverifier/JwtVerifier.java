@@ -0,0 +1,223 @@
+package com.example.jwtverifier;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+
+import java.nio.file.Path;
+import java.security.Key;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+//jwt-tutorial 애플리케이션이 발급한 Access Token을 다른 서비스에서 직접 검증하는 검증기.
+//서명과 만료시각을 확인하고 클레임을 불변 TokenPrincipal로 바꾼다. 기존 형식과 압축 형식(a, n, v) 토큰을 모두 읽는다.
+//만들 때 키 파싱과 JwtParser 생성을 모두 끝내고, 이후에는 불변이므로 모든 요청 스레드에서 공유한다.
+//
+//폐기된 토큰(로그아웃, 유저 단위 폐기)은 발급한 애플리케이션만 알기 때문에 여기서는 만료될 때까지 유효하다.
+//Access Token의 유효기간(jwt.token-validity-in-seconds)을 짧게 유지하는 것을 전제로 한다.
+public final class JwtVerifier {
+
+    //권한 조합 개수의 상한. 토큰마다 다른 권한 문자열이 들어와도 메모리가 계속 늘어나지 않게 한다.
+    private static final int MAX_CACHED_AUTHORITIES = 1024;
+
+    private final JwtParser jwtParser;
+    private final List<String> compactAuthorities;
+    //권한 클레임(비트마스크 또는 ','로 구분된 문자열) -> 불변 권한 리스트
+    private final Map<Object, List<String>> authorityLists = new ConcurrentHashMap<>();
+    //검증된 토큰 캐시. cacheSize가 0이면 null이다.
+    private final TokenCache cache;
+    private final Clock clock;
+
+    private JwtVerifier(Builder builder) {
+        VerificationKeys keys = builder.keys;
+        this.clock = builder.clock;
+        this.compactAuthorities = List.copyOf(builder.compactAuthorities);
+        this.cache = builder.cacheSize > 0 ? new TokenCache(builder.cacheSize, clock::millis) : null;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keys.resolve(header.getKeyId(), header.getAlgorithm());
+                    }
+                })
+                .setAllowedClockSkewSeconds(builder.clockSkewSeconds)
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+    }
+
+    public static Builder builder(VerificationKeys keys) {
+        return new Builder(keys);
+    }
+
+    //발급하는 애플리케이션과 같은 설정 키로 검증기를 만든다.
+    //  jwt.algorithm (HS512), jwt.secret, jwt.key-location (PEM 공개키, JWK, JWK Set 파일), jwt.key-id (default)
+    //  jwt.compact.authorities (ROLE_USER,ROLE_ADMIN)
+    //  jwt.verifier.cache-size (10000, 0이면 캐시를 사용하지 않는다), jwt.verifier.clock-skew-seconds (0)
+    public static JwtVerifier fromProperties(Properties properties) {
+        SignatureAlgorithm algorithm = VerificationKeys.parseAlgorithm(properties.getProperty("jwt.algorithm", "HS512"));
+        String keyId = properties.getProperty("jwt.key-id", "default");
+        String keyLocation = properties.getProperty("jwt.key-location", "");
+        VerificationKeys keys;
+        if (!keyLocation.isBlank()) {
+            keys = VerificationKeys.fromFile(Path.of(keyLocation.trim()), algorithm, keyId);
+        } else {
+            String secret = properties.getProperty("jwt.secret");
+            if (secret == null || secret.isBlank()) {
+                throw new IllegalArgumentException("jwt.secret 또는 jwt.key-location이 필요합니다.");
+            }
+            keys = VerificationKeys.ofSecret(keyId, algorithm, secret.trim());
+        }
+        return builder(keys)
+                .compactAuthorities(properties.getProperty("jwt.compact.authorities", "ROLE_USER,ROLE_ADMIN"))
+                .cacheSize(Integer.parseInt(properties.getProperty("jwt.verifier.cache-size", "10000").trim()))
+                .clockSkewSeconds(Long.parseLong(properties.getProperty("jwt.verifier.clock-skew-seconds", "0").trim()))
+                .build();
+    }
+
+    //토큰을 검증하고 principal을 리턴한다. 캐시에 있으면 서명 검증과 파싱을 건너뛴다.
+    public VerificationResult verify(String token) {
+        if (token == null || token.isBlank()) {
+            return VerificationResult.failure(VerificationStatus.ILLEGAL);
+        }
+        if (cache != null) {
+            TokenPrincipal cached = cache.get(token);
+            if (cached != null) {
+                return VerificationResult.valid(cached);
+            }
+        }
+
+        Claims claims;
+        try {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+        } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
+            return VerificationResult.failure(VerificationStatus.INVALID_SIGNATURE);
+        } catch (ExpiredJwtException e) {
+            return VerificationResult.failure(VerificationStatus.EXPIRED);
+        } catch (UnsupportedJwtException e) {
+            return VerificationResult.failure(VerificationStatus.UNSUPPORTED);
+        } catch (IllegalArgumentException e) {
+            return VerificationResult.failure(VerificationStatus.ILLEGAL);
+        }
+
+        TokenPrincipal principal = toPrincipal(claims);
+        if (cache != null && claims.getExpiration() != null) {
+            cache.put(token, principal, claims.getExpiration().getTime());
+        }
+        return VerificationResult.valid(principal);
+    }
+
+    private TokenPrincipal toPrincipal(Claims claims) {
+        Object profileVersion = claim(claims, JwtClaimNames.COMPACT_PROFILE_VERSION, JwtClaimNames.PROFILE_VERSION);
+        Object nickname = claim(claims, JwtClaimNames.COMPACT_NICKNAME, JwtClaimNames.NICKNAME);
+        return new TokenPrincipal(claims.getSubject(), authorities(claims),
+                nickname instanceof String name ? name : null,
+                profileVersion instanceof Number version ? version.intValue() : 0,
+                claims.getId(),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+    }
+
+    //압축 형식(비트마스크)과 기존 형식(','로 구분된 문자열)을 모두 읽는다. 같은 권한 클레임이면 같은 리스트를 공유한다.
+    private List<String> authorities(Claims claims) {
+        Object claim = claims.get(JwtClaimNames.COMPACT_AUTHORITIES);
+        if (claim instanceof Number mask) {
+            claim = mask.longValue();
+        } else {
+            claim = claims.get(JwtClaimNames.AUTHORITIES);
+            if (claim == null) {
+                return List.of();
+            }
+            claim = claim.toString();
+        }
+        List<String> authorities = authorityLists.get(claim);
+        if (authorities != null) {
+            return authorities;
+        }
+        authorities = claim instanceof Long mask ? decode(mask) : split((String) claim);
+        if (authorityLists.size() < MAX_CACHED_AUTHORITIES) {
+            List<String> previous = authorityLists.putIfAbsent(claim, authorities);
+            return previous != null ? previous : authorities;
+        }
+        return authorities;
+    }
+
+    //목록에 없는 비트는 무시한다. (목록이 짧으면 모르는 권한이 빠질 뿐 권한이 늘어나지는 않는다)
+    private List<String> decode(long mask) {
+        List<String> authorities = new ArrayList<>(Long.bitCount(mask));
+        for (int i = 0; i < compactAuthorities.size(); i++) {
+            if ((mask & (1L << i)) != 0) {
+                authorities.add(compactAuthorities.get(i));
+            }
+        }
+        return List.copyOf(authorities);
+    }
+
+    private static List<String> split(String authorityNames) {
+        List<String> authorities = new ArrayList<>();
+        for (String name : authorityNames.split(",")) {
+            if (!name.isBlank()) {
+                authorities.add(name.trim());
+            }
+        }
+        return List.copyOf(authorities);
+    }
+
+    private static Object claim(Claims claims, String compactKey, String key) {
+        Object value = claims.get(compactKey);
+        return value != null ? value : claims.get(key);
+    }
+
+    //캐시를 사용하지 않으면 null
+    public TokenCache getCache() {
+        return cache;
+    }
+
+    public static final class Builder {
+        private final VerificationKeys keys;
+        private List<String> compactAuthorities = List.of("ROLE_USER", "ROLE_ADMIN");
+        private int cacheSize = 10000;
+        private long clockSkewSeconds;
+        private Clock clock = Clock.systemUTC();
+
+        private Builder(VerificationKeys keys) {
+            this.keys = keys;
+        }
+
+        //압축 토큰의 권한 비트 순서. 발급하는 애플리케이션의 jwt.compact.authorities와 같아야 한다.
+        public Builder compactAuthorities(String authorityNames) {
+            this.compactAuthorities = split(authorityNames);
+            return this;
+        }
+
+        public Builder cacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        //발급하는 서버와의 시계 차이를 허용할 범위 (exp, nbf 확인에 사용)
+        public Builder clockSkewSeconds(long clockSkewSeconds) {
+            this.clockSkewSeconds = clockSkewSeconds;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public JwtVerifier build() {
+            return new JwtVerifier(this);
+        }
+    }
+}
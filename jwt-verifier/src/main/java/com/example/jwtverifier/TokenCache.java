@@ -0,0 +1,160 @@
+package com.example.jwtverifier;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+//서명 검증이 끝난 토큰의 principal을 보관하는 캐시. 같은 토큰이 반복해서 들어오면 서명 검증과 파싱을 건너뛴다.
+//토큰 문자로 바로 64비트 해시를 계산해서 슬롯을 찾고, 저장된 토큰 원문과 비교해서 일치할 때만 돌려준다.
+//조회 경로에서는 키 객체, 다이제스트, 버퍼를 만들지 않으므로 캐시 히트는 할당이 없다. (스레드별 버퍼도 없다)
+//토큰의 만료시각(exp)이 지나면 더 이상 돌려주지 않고, 자리가 없으면 같은 묶음에서 만료가 가장 빠른 항목을 교체한다.
+public final class TokenCache {
+
+    //한 해시값이 들어갈 수 있는 슬롯 수
+    private static final int WAYS = 4;
+
+    private static final long HASH_MULTIPLIER = 0x100000001b3L;
+
+    //WAYS개씩 묶인 슬롯. 항목은 불변이고 CAS로만 바꾸므로 조회 경로에 락이 없다.
+    private final AtomicReferenceArray<Entry> slots;
+    private final int ways;
+    private final int setMask;
+    private final LongSupplier clock;
+
+    private final LongAdder size = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    TokenCache(int maxSize, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize는 0보다 커야 합니다: " + maxSize);
+        }
+        //슬롯 수가 maxSize를 넘지 않도록 묶음 수를 2의 거듭제곱으로 내림한다.
+        this.ways = Math.min(WAYS, maxSize);
+        int sets = Integer.highestOneBit(maxSize / ways);
+        this.setMask = sets - 1;
+        this.slots = new AtomicReferenceArray<>(sets * ways);
+        this.clock = clock;
+    }
+
+    //캐시에 있고 아직 만료되지 않았으면 principal을, 아니면 null을 리턴한다.
+    TokenPrincipal get(String token) {
+        long hash = hash(token);
+        int base = setIndex(hash);
+        for (int i = base; i < base + ways; i++) {
+            Entry entry = slots.get(i);
+            if (entry == null || !entry.matches(hash, token)) {
+                continue;
+            }
+            if (entry.isExpired(clock.getAsLong())) {
+                if (slots.compareAndSet(i, entry, null)) {
+                    size.decrement();
+                    evictions.increment();
+                }
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.principal;
+        }
+        misses.increment();
+        return null;
+    }
+
+    //빈 슬롯, 같은 토큰, 만료된 항목 순으로 자리를 찾고, 없으면 만료가 가장 빠른 항목을 교체한다.
+    //다른 스레드와 같은 슬롯을 두고 경합하면 기다리지 않고 이번 토큰은 캐시하지 않는다.
+    void put(String token, TokenPrincipal principal, long expiresAtMillis) {
+        long now = clock.getAsLong();
+        if (expiresAtMillis <= now) {
+            return;
+        }
+        long hash = hash(token);
+        Entry created = new Entry(hash, token, principal, expiresAtMillis);
+        int base = setIndex(hash);
+        int victim = -1;
+        Entry victimEntry = null;
+        for (int i = base; i < base + ways; i++) {
+            Entry entry = slots.get(i);
+            if (entry == null) {
+                if (slots.compareAndSet(i, null, created)) {
+                    size.increment();
+                }
+                return;
+            }
+            if (entry.matches(hash, token)) {
+                slots.compareAndSet(i, entry, created);
+                return;
+            }
+            if (entry.isExpired(now)) {
+                victim = i;
+                victimEntry = entry;
+                break;
+            }
+            if (victimEntry == null || entry.expiresAtMillis < victimEntry.expiresAtMillis) {
+                victim = i;
+                victimEntry = entry;
+            }
+        }
+        if (slots.compareAndSet(victim, victimEntry, created)) {
+            evictions.increment();
+        }
+    }
+
+    private int setIndex(long hash) {
+        return (int) (hash & setMask) * ways;
+    }
+
+    //토큰의 64비트 다항식 해시. 아래 비트로 슬롯 위치를 정하므로 마지막에 비트를 섞는다.
+    //서명 검증을 통과한 토큰만 저장되므로 해시 충돌은 캐시 미스가 될 뿐이고, 원문 비교로 잘못된 결과를 돌려주는 일은 없다.
+    private static long hash(String token) {
+        long hash = 0;
+        for (int i = 0; i < token.length(); i++) {
+            hash = hash * HASH_MULTIPLIER + token.charAt(i);
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    public int size() {
+        return size.intValue();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private static final class Entry {
+        private final long hash;
+        private final String token;
+        private final TokenPrincipal principal;
+        private final long expiresAtMillis;
+
+        private Entry(long hash, String token, TokenPrincipal principal, long expiresAtMillis) {
+            this.hash = hash;
+            this.token = token;
+            this.principal = principal;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        //해시가 같으면 원문까지 비교한다.
+        private boolean matches(long hash, String token) {
+            return this.hash == hash && this.token.equals(token);
+        }
+
+        //exp 시각이 되는 순간부터 만료로 본다.
+        private boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
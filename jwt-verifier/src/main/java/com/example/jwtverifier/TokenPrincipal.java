@@ -0,0 +1,73 @@
+package com.example.jwtverifier;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
+//검증된 토큰의 클레임으로 만든 불변 사용자 정보.
+//같은 토큰이면 캐시된 같은 인스턴스가 여러 요청 스레드에서 공유된다.
+public final class TokenPrincipal implements Principal {
+    private final String username;
+    private final List<String> authorities;
+    private final String nickname;
+    private final int profileVersion;
+    private final String tokenId;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public TokenPrincipal(String username, List<String> authorities, String nickname, int profileVersion,
+                          String tokenId, Instant issuedAt, Instant expiresAt) {
+        this.username = username;
+        this.authorities = List.copyOf(authorities);
+        this.nickname = nickname;
+        this.profileVersion = profileVersion;
+        this.tokenId = tokenId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    //ROLE_USER 처럼 발급한 애플리케이션의 권한 이름 그대로
+    public List<String> getAuthorities() {
+        return authorities;
+    }
+
+    public boolean hasAuthority(String authority) {
+        return authorities.contains(authority);
+    }
+
+    //프로필 클레임(jwt.claims-profile.enabled)이 없는 토큰이면 null
+    public String getNickname() {
+        return nickname;
+    }
+
+    //프로필 클레임이 없는 토큰이면 0
+    public int getProfileVersion() {
+        return profileVersion;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenPrincipal{username='" + username + "', authorities=" + authorities + "}";
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.jwtverifier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//kid -> 검증키 목록. 만들 때 한번만 파싱하고 이후에는 읽기만 하므로 thread-safe 하다.
+//지원하는 형식
+//  - HMAC: Base64 secret (발급하는 애플리케이션의 jwt.secret과 같은 값)
+//  - RSA/EC: X.509 "PUBLIC KEY" PEM, 공개 JWK, 또는 JWK Set({"keys": [...]}, /.well-known/jwks.json 응답)
+//검증만 하므로 개인키는 받지 않는다. (JWK의 개인키 값은 무시한다)
+public final class VerificationKeys {
+
+    private static final Pattern PEM_BLOCK =
+            Pattern.compile("-----BEGIN ([A-Z ]+)-----([A-Za-z0-9+/=\\s]+)-----END \\1-----");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Map<String, VerificationKey> keys;
+    //kid가 없는 토큰(키 링 도입 이전에 발급된 토큰)을 검증할 키의 kid
+    private final String defaultKeyId;
+
+    private VerificationKeys(Map<String, VerificationKey> keys, String defaultKeyId) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("검증키가 없습니다.");
+        }
+        this.keys = Map.copyOf(keys);
+        this.defaultKeyId = defaultKeyId;
+    }
+
+    public static VerificationKeys ofSecret(String keyId, SignatureAlgorithm algorithm, String base64Secret) {
+        if (!algorithm.isHmac()) {
+            throw new IllegalArgumentException(algorithm + " 알고리즘은 secret이 아니라 공개키가 필요합니다.");
+        }
+        return new VerificationKeys(Map.of(keyId,
+                new VerificationKey(algorithm, Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)))), keyId);
+    }
+
+    public static VerificationKeys ofPublicKey(String keyId, SignatureAlgorithm algorithm, PublicKey publicKey) {
+        if (algorithm.isHmac()) {
+            throw new IllegalArgumentException(algorithm + " 알고리즘은 공개키가 아니라 secret이 필요합니다.");
+        }
+        return new VerificationKeys(Map.of(keyId, new VerificationKey(algorithm, publicKey)), keyId);
+    }
+
+    public static VerificationKeys fromFile(Path path, SignatureAlgorithm defaultAlgorithm, String defaultKeyId) {
+        String content;
+        try {
+            content = Files.readString(path);
+        } catch (IOException e) {
+            throw new IllegalStateException("JWT 검증키 파일을 읽을 수 없습니다: " + path, e);
+        }
+        try {
+            return parse(content, defaultAlgorithm, defaultKeyId);
+        } catch (GeneralSecurityException | IOException | RuntimeException e) {
+            throw new IllegalStateException("JWT 검증키 파일을 해석할 수 없습니다: " + path, e);
+        }
+    }
+
+    //PEM, JWK, JWK Set 문자열을 읽는다. kid가 없는 키는 defaultKeyId를 kid로 사용한다.
+    public static VerificationKeys parse(String content, SignatureAlgorithm defaultAlgorithm, String defaultKeyId)
+            throws GeneralSecurityException, IOException {
+        Map<String, VerificationKey> keys = new HashMap<>();
+        if (!content.trim().startsWith("{")) {
+            keys.put(defaultKeyId, fromPem(defaultAlgorithm, content));
+            return new VerificationKeys(keys, defaultKeyId);
+        }
+        JsonNode json = OBJECT_MAPPER.readTree(content);
+        if (json.has("keys")) {
+            for (JsonNode jwk : json.get("keys")) {
+                //서명 검증용이 아닌 키(use: enc)는 건너뛴다.
+                if (jwk.hasNonNull("use") && !"sig".equals(jwk.get("use").asText())) {
+                    continue;
+                }
+                String keyId = jwk.hasNonNull("kid") ? jwk.get("kid").asText() : defaultKeyId;
+                if (keys.put(keyId, fromJwk(defaultAlgorithm, jwk)) != null) {
+                    throw new IllegalArgumentException("JWK Set에 중복된 kid가 있습니다: " + keyId);
+                }
+            }
+        } else {
+            keys.put(json.hasNonNull("kid") ? json.get("kid").asText() : defaultKeyId, fromJwk(defaultAlgorithm, json));
+        }
+        return new VerificationKeys(keys, defaultKeyId);
+    }
+
+    //토큰 헤더의 kid와 alg로 검증키를 찾는다. 헤더의 alg를 바꿔서 다른 알고리즘으로 검증하게 만드는 것을 막는다.
+    Key resolve(String keyId, String algorithm) {
+        String resolvedKeyId = keyId != null ? keyId : defaultKeyId;
+        VerificationKey key = keys.get(resolvedKeyId);
+        if (key == null) {
+            throw new SignatureException("알 수 없는 kid 입니다: " + resolvedKeyId);
+        }
+        if (!key.algorithm.getValue().equals(algorithm)) {
+            throw new SignatureException("kid " + resolvedKeyId + "의 알고리즘과 헤더의 alg가 다릅니다.");
+        }
+        return key.key;
+    }
+
+    public Set<String> getKeyIds() {
+        return keys.keySet();
+    }
+
+    //알고리즘 이름을 SignatureAlgorithm으로 바꾼다. none은 허용하지 않는다.
+    public static SignatureAlgorithm parseAlgorithm(String name) {
+        SignatureAlgorithm algorithm;
+        try {
+            algorithm = SignatureAlgorithm.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원되지 않는 JWT 서명 알고리즘입니다: " + name, e);
+        }
+        if (algorithm == SignatureAlgorithm.NONE) {
+            throw new IllegalArgumentException("서명하지 않는 JWT(none)는 사용할 수 없습니다.");
+        }
+        return algorithm;
+    }
+
+    private static VerificationKey fromPem(SignatureAlgorithm algorithm, String pem) throws GeneralSecurityException {
+        if (algorithm.isHmac()) {
+            throw new IllegalArgumentException("HMAC 키는 PEM이 아니라 secret 또는 JWK(oct)로 설정해야 합니다.");
+        }
+        Matcher matcher = PEM_BLOCK.matcher(pem);
+        while (matcher.find()) {
+            if (matcher.group(1).equals("PUBLIC KEY")) {
+                KeyFactory keyFactory = KeyFactory.getInstance(algorithm.isRsa() ? "RSA" : "EC");
+                byte[] der = Base64.getMimeDecoder().decode(matcher.group(2));
+                return new VerificationKey(algorithm, keyFactory.generatePublic(new X509EncodedKeySpec(der)));
+            }
+        }
+        throw new IllegalArgumentException("PEM에서 X.509 PUBLIC KEY 블록을 찾을 수 없습니다. (검증에는 공개키만 사용합니다)");
+    }
+
+    //RFC 7517 JWK(kty: oct, RSA, EC)의 공개 값만 읽는다. alg 값이 있으면 설정된 알고리즘 대신 그 값을 사용한다.
+    private static VerificationKey fromJwk(SignatureAlgorithm algorithm, JsonNode jwk) throws GeneralSecurityException {
+        if (jwk.hasNonNull("alg")) {
+            algorithm = parseAlgorithm(jwk.get("alg").asText());
+        }
+        String keyType = text(jwk, "kty");
+        switch (keyType) {
+            case "oct" -> {
+                if (!algorithm.isHmac()) {
+                    throw new IllegalArgumentException("oct JWK는 HMAC 알고리즘에만 사용할 수 있습니다.");
+                }
+                return new VerificationKey(algorithm, Keys.hmacShaKeyFor(decode(jwk, "k")));
+            }
+            case "RSA" -> {
+                KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+                return new VerificationKey(algorithm,
+                        keyFactory.generatePublic(new RSAPublicKeySpec(integer(jwk, "n"), integer(jwk, "e"))));
+            }
+            case "EC" -> {
+                AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec(curveName(text(jwk, "crv"))));
+                ECParameterSpec curve = parameters.getParameterSpec(ECParameterSpec.class);
+                ECPoint point = new ECPoint(integer(jwk, "x"), integer(jwk, "y"));
+                return new VerificationKey(algorithm,
+                        KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, curve)));
+            }
+            default -> throw new IllegalArgumentException("지원되지 않는 JWK kty입니다: " + keyType);
+        }
+    }
+
+    private static String curveName(String crv) {
+        return switch (crv) {
+            case "P-256" -> "secp256r1";
+            case "P-384" -> "secp384r1";
+            case "P-521" -> "secp521r1";
+            default -> throw new IllegalArgumentException("지원되지 않는 EC 곡선입니다: " + crv);
+        };
+    }
+
+    private static String text(JsonNode jwk, String name) {
+        JsonNode node = jwk.get(name);
+        if (node == null || !node.isTextual()) {
+            throw new IllegalArgumentException("JWK에 '" + name + "' 값이 없습니다.");
+        }
+        return node.asText();
+    }
+
+    private static byte[] decode(JsonNode jwk, String name) {
+        return Base64.getUrlDecoder().decode(text(jwk, name));
+    }
+
+    private static BigInteger integer(JsonNode jwk, String name) {
+        return new BigInteger(1, decode(jwk, name));
+    }
+
+    private static final class VerificationKey {
+        private final SignatureAlgorithm algorithm;
+        private final Key key;
+
+        private VerificationKey(SignatureAlgorithm algorithm, Key key) {
+            this.algorithm = algorithm;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.jwtverifier;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+//토큰 검증 결과. 성공하면 principal을, 실패하면 실패 사유를 담는다.
+public final class VerificationResult {
+
+    //실패 결과는 principal이 없으므로 사유별로 하나씩만 만들어두고 재사용한다.
+    private static final Map<VerificationStatus, VerificationResult> FAILURES = new EnumMap<>(VerificationStatus.class);
+
+    static {
+        for (VerificationStatus status : VerificationStatus.values()) {
+            if (status != VerificationStatus.VALID) {
+                FAILURES.put(status, new VerificationResult(status, null));
+            }
+        }
+    }
+
+    private final VerificationStatus status;
+    private final TokenPrincipal principal;
+
+    private VerificationResult(VerificationStatus status, TokenPrincipal principal) {
+        this.status = status;
+        this.principal = principal;
+    }
+
+    static VerificationResult valid(TokenPrincipal principal) {
+        return new VerificationResult(VerificationStatus.VALID, principal);
+    }
+
+    static VerificationResult failure(VerificationStatus status) {
+        return FAILURES.get(status);
+    }
+
+    public boolean isValid() {
+        return status == VerificationStatus.VALID;
+    }
+
+    public VerificationStatus getStatus() {
+        return status;
+    }
+
+    //검증에 실패했으면 null
+    public TokenPrincipal getPrincipal() {
+        return principal;
+    }
+}
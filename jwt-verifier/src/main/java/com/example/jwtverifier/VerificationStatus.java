@@ -0,0 +1,11 @@
+package com.example.jwtverifier;
+
+//토큰 검증 결과. VALID가 아니면 실패 사유를 나타낸다.
+//폐기(로그아웃) 여부는 발급한 애플리케이션만 알기 때문에 여기서는 확인하지 않는다.
+public enum VerificationStatus {
+    VALID,
+    INVALID_SIGNATURE, //잘못된 서명, 손상된 토큰, 알 수 없는 kid
+    EXPIRED, //만료된 토큰
+    UNSUPPORTED, //지원되지 않는 토큰
+    ILLEGAL //비어있거나 잘못된 토큰
+}
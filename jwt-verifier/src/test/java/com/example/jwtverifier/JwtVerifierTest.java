@@ -0,0 +1,121 @@
+package com.example.jwtverifier;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtVerifierTest {
+
+	private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+	private final SecretKey secret = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+	private final JwtVerifier verifier = JwtVerifier.builder(VerificationKeys.ofSecret("default", SignatureAlgorithm.HS512,
+					Base64.getEncoder().encodeToString(secret.getEncoded())))
+			.clock(Clock.fixed(NOW, ZoneOffset.UTC))
+			.build();
+
+	@Test
+	void readsLegacyClaims() {
+		String token = Jwts.builder()
+				.setHeaderParam(JwsHeader.KEY_ID, "default")
+				.setSubject("admin")
+				.setId("token-1")
+				.claim(JwtClaimNames.AUTHORITIES, "ROLE_USER,ROLE_ADMIN")
+				.claim(JwtClaimNames.NICKNAME, "관리자")
+				.claim(JwtClaimNames.PROFILE_VERSION, 3)
+				.setExpiration(Date.from(NOW.plusSeconds(60)))
+				.signWith(secret, SignatureAlgorithm.HS512)
+				.compact();
+
+		VerificationResult result = verifier.verify(token);
+
+		assertThat(result.isValid()).isTrue();
+		TokenPrincipal principal = result.getPrincipal();
+		assertThat(principal.getName()).isEqualTo("admin");
+		assertThat(principal.getAuthorities()).containsExactly("ROLE_USER", "ROLE_ADMIN");
+		assertThat(principal.getNickname()).isEqualTo("관리자");
+		assertThat(principal.getProfileVersion()).isEqualTo(3);
+		assertThat(principal.getTokenId()).isEqualTo("token-1");
+	}
+
+	@Test
+	void readsCompactClaimsAndTokensWithoutKeyId() {
+		String token = Jwts.builder()
+				.setSubject("user")
+				.claim(JwtClaimNames.COMPACT_AUTHORITIES, 0b01L)
+				.claim(JwtClaimNames.COMPACT_NICKNAME, "유저")
+				.claim(JwtClaimNames.COMPACT_PROFILE_VERSION, 1)
+				.setExpiration(Date.from(NOW.plusSeconds(60)))
+				.signWith(secret, SignatureAlgorithm.HS512)
+				.compact();
+
+		TokenPrincipal principal = verifier.verify(token).getPrincipal();
+
+		assertThat(principal.getAuthorities()).containsExactly("ROLE_USER");
+		assertThat(principal.getNickname()).isEqualTo("유저");
+		assertThat(principal.getProfileVersion()).isEqualTo(1);
+	}
+
+	@Test
+	void rejectsExpiredForgedAndUnknownKeyTokens() {
+		String expired = Jwts.builder().setSubject("user").setExpiration(Date.from(NOW.minusSeconds(1)))
+				.signWith(secret, SignatureAlgorithm.HS512).compact();
+		String forged = Jwts.builder().setSubject("user").setExpiration(Date.from(NOW.plusSeconds(60)))
+				.signWith(Keys.secretKeyFor(SignatureAlgorithm.HS512), SignatureAlgorithm.HS512).compact();
+		String unknownKey = Jwts.builder().setHeaderParam(JwsHeader.KEY_ID, "other").setSubject("user")
+				.setExpiration(Date.from(NOW.plusSeconds(60))).signWith(secret, SignatureAlgorithm.HS512).compact();
+
+		assertThat(verifier.verify(expired).getStatus()).isEqualTo(VerificationStatus.EXPIRED);
+		assertThat(verifier.verify(forged).getStatus()).isEqualTo(VerificationStatus.INVALID_SIGNATURE);
+		assertThat(verifier.verify(unknownKey).getStatus()).isEqualTo(VerificationStatus.INVALID_SIGNATURE);
+		assertThat(verifier.verify("").getStatus()).isEqualTo(VerificationStatus.ILLEGAL);
+	}
+
+	@Test
+	void returnsCachedPrincipalForRepeatedToken() {
+		String token = Jwts.builder().setSubject("user").claim(JwtClaimNames.AUTHORITIES, "ROLE_USER")
+				.setExpiration(Date.from(NOW.plusSeconds(60))).signWith(secret, SignatureAlgorithm.HS512).compact();
+
+		TokenPrincipal first = verifier.verify(token).getPrincipal();
+		TokenPrincipal second = verifier.verify(token).getPrincipal();
+
+		assertThat(second).isSameAs(first);
+		assertThat(verifier.getCache().getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void verifiesRsaTokensWithJwkSet() throws Exception {
+		KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+		RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		String jwks = "{\"keys\":[{\"kty\":\"RSA\",\"kid\":\"rsa-1\",\"alg\":\"RS256\",\"use\":\"sig\","
+				+ "\"n\":\"" + encoder.encodeToString(unsigned(publicKey.getModulus().toByteArray())) + "\","
+				+ "\"e\":\"" + encoder.encodeToString(unsigned(publicKey.getPublicExponent().toByteArray())) + "\"}]}";
+		JwtVerifier rsaVerifier = JwtVerifier.builder(VerificationKeys.parse(jwks, SignatureAlgorithm.RS256, "default"))
+				.clock(Clock.fixed(NOW, ZoneOffset.UTC))
+				.build();
+
+		String token = Jwts.builder().setHeaderParam(JwsHeader.KEY_ID, "rsa-1").setSubject("user")
+				.setExpiration(Date.from(NOW.plusSeconds(60))).signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256).compact();
+
+		assertThat(rsaVerifier.verify(token).isValid()).isTrue();
+	}
+
+	private static byte[] unsigned(byte[] bytes) {
+		return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+	}
+}
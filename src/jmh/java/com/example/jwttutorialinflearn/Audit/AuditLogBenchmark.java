@@ -0,0 +1,90 @@
+package com.example.jwttutorialinflearn.Audit;
+
+import com.example.jwttutorialinflearn.RateLimit.InMemoryTokenBucketRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//요청 스레드가 치르는 감사 로그 비용(AuditLog.record)을 측정한다. 기록 스레드는 인메모리 H2에 실제로 배치 insert 한다.
+//-PjmhThreads=8 처럼 스레드 수를 늘려서 생산자 경합과 버퍼가 가득 찼을 때의 정책별 비용을 본다.
+//  recordLoginFailure : 한도가 없는 이벤트. 버퍼에 넣는 비용
+//  recordTokenFailure : JwtFilter가 호출하는 경로. 클라이언트 IP별 한도 확인(RateLimiter) + 버퍼에 넣는 비용
+//    tokenFailureLimit=default   : yml 기본 한도(10개, 10초에 1개). 스레드마다 IP 1024개를 돌려 쓰므로 곧 한도에 걸린다. (공격 상황)
+//    tokenFailureLimit=unlimited : 한도에 걸리지 않는 큰 한도. 한도 확인 후 항상 버퍼에 들어간다.
+//버퍼에 들어간 이벤트 수, 버려진 이벤트 수, 한도에 걸린 이벤트 수는 tearDown에서 출력한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuditLogBenchmark {
+
+    @Param({"DROP", "BLOCK"})
+    public String backpressure;
+
+    @Param({"default", "unlimited"})
+    public String tokenFailureLimit;
+
+    private AuditLog auditLog;
+    private SimpleMeterRegistry meterRegistry;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:audit-" + backpressure + "-" + tokenFailureLimit + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists audit_event (audit_event_id bigint auto_increment primary key, "
+                + "event_time timestamp not null, event_type varchar(30) not null, username varchar(50), "
+                + "detail varchar(200), client_ip varchar(45))");
+        meterRegistry = new SimpleMeterRegistry();
+        boolean unlimited = "unlimited".equals(tokenFailureLimit);
+        auditLog = new AuditLog(jdbcTemplate, new DataSourceTransactionManager(dataSource), meterRegistry,
+                new InMemoryTokenBucketRateLimiter(100000), true, 8192, backpressure, 50, 500, 200,
+                unlimited ? 1_000_000_000L : 10, unlimited ? 1e9 : 0.1, 0, 5000);
+        auditLog.afterPropertiesSet();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        auditLog.destroy();
+        System.out.printf("%n[%s, %s] queued=%.0f, dropped=%.0f, throttled=%.0f%n", backpressure, tokenFailureLimit,
+                meterRegistry.get("audit.events").tag("result", "queued").counter().count(),
+                meterRegistry.get("audit.events").tag("result", "dropped").counter().count(),
+                meterRegistry.get("audit.events").tag("result", "throttled").counter().count());
+    }
+
+    //스레드마다 다른 클라이언트 IP 1024개 (10.t.x.y)
+    @State(Scope.Thread)
+    public static class Client {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+        private final String[] clientIps = new String[1024];
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            int thread = THREADS.getAndIncrement() & 0xff;
+            for (int i = 0; i < clientIps.length; i++) {
+                clientIps[i] = "10." + thread + "." + (i >> 8) + "." + (i & 0xff);
+            }
+        }
+
+        String nextClientIp() {
+            String clientIp = clientIps[next];
+            next = (next + 1) & (clientIps.length - 1);
+            return clientIp;
+        }
+    }
+
+    @Benchmark
+    public void recordLoginFailure(Client client) {
+        auditLog.record(AuditEventType.LOGIN_FAILURE, "user", "BadCredentialsException", client.nextClientIp());
+    }
+
+    @Benchmark
+    public void recordTokenFailure(Client client) {
+        auditLog.record(AuditEventType.TOKEN_FAILURE, null, "invalid_signature", client.nextClientIp());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+//기존 토큰 형식과 압축 토큰 형식(jwt.compact.enabled)의 크기, 발급/검증 비용을 비교한다.
+//토큰 크기(= 요청마다 Authorization 헤더로 오가는 바이트)는 setUp에서 출력한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CompactTokenBenchmark {
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    //1: ROLE_USER, 2: ROLE_USER + ROLE_ADMIN
+    @Param({"1", "2"})
+    public int authorityCount;
+
+    @Param({"HS256", "HS512"})
+    public String algorithm;
+
+    private TokenProvider tokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = BenchmarkFixtures.tokenProvider(algorithm, false, compact);
+        authentication = BenchmarkFixtures.authentication(authorityCount, 8);
+        token = tokenProvider.createToken(authentication);
+        int payloadLength = token.indexOf('.', token.indexOf('.') + 1) - token.indexOf('.') - 1;
+        System.out.printf("%n[compact=%s, authorityCount=%d, %s] 토큰 %d자 (payload %d자), Authorization 헤더 %d바이트%n",
+                compact, authorityCount, algorithm, token.length(), payloadLength, token.length() + "Bearer ".length());
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(authentication);
+    }
+
+    //서명 검증 + 파싱 + Authentication 생성 (캐시 없음)
+    @Benchmark
+    public TokenValidationResult verifyAndAuthenticate() {
+        return tokenProvider.verifyAndAuthenticate(token);
+    }
+}
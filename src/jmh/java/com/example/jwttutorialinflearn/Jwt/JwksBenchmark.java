@@ -0,0 +1,42 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import com.example.jwttutorialinflearn.Controller.JwksController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+//검증하는 서비스들이 /.well-known/jwks.json을 주기적으로 가져갈 때 이 서버가 치르는 비용 (HTTP 처리 제외)
+//  full: If-None-Match 없이 전체 본문을 받는 요청
+//  notModified: 이미 받은 ETag로 다시 확인하는 요청 (304)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwksBenchmark {
+
+    @Param({"RS256", "ES256"})
+    public String algorithm;
+
+    private JwksController jwksController;
+    private String etag;
+
+    @Setup
+    public void setUp() {
+        TokenProvider tokenProvider = BenchmarkFixtures.tokenProvider(algorithm, false);
+        jwksController = new JwksController(new JwksPublisher(tokenProvider, new ObjectMapper()), 300);
+        ResponseEntity<byte[]> response = jwksController.getJwks(null);
+        etag = response.getHeaders().getETag();
+        System.out.printf("%n[%s] JWK Set %d바이트, ETag %s%n", algorithm, response.getBody().length, etag);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> full() {
+        return jwksController.getJwks(null);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> notModified() {
+        return jwksController.getJwks(etag);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+//JwtFilter.doFilter 전체 경로(헤더 추출 -> 검증 -> SecurityContext 저장)를 측정한다.
+//요청 객체는 스레드마다 하나씩 만들어서 재사용한다.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"1", "16"})
+    public int authorityCount;
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private JwtFilter jwtFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        TokenProvider tokenProvider = BenchmarkFixtures.tokenProvider(cacheEnabled);
+        String token = tokenProvider.createToken(BenchmarkFixtures.authentication(authorityCount, 8));
+
+        jwtFilter = new JwtFilter(tokenProvider, new TokenDenylist(100000, 0.01), BenchmarkFixtures.authMetrics());
+        request = new MockHttpServletRequest("GET", "/api/user");
+        request.addHeader(JwtFilter.AUTHORIZATION_HEADER, "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void doFilter() throws Exception {
+        jwtFilter.doFilter(request, response, NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+//@PreAuthorize 메소드 호출 한번의 권한 확인 비용을 비교한다.
+//  none        : 프록시 없이 직접 호출 (기준값)
+//  spel        : Spring Security 기본 (PreAuthorizeAuthorizationManager, 매번 SpEL 평가)
+//  precomputed : PrecomputedRoleAuthorizationManager (메소드별 마스크 + 토큰의 권한 마스크)
+//SecurityContext에는 TokenProvider가 만든 Authentication(JwtAuthenticationToken)을 넣는다.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MethodSecurityBenchmark {
+
+    @Param({"none", "spel", "precomputed"})
+    public String mode;
+
+    private SecuredService service;
+
+    @Setup
+    public void setUp() {
+        TokenProvider tokenProvider = BenchmarkFixtures.tokenProvider(false);
+        String token = tokenProvider.createToken(BenchmarkFixtures.authentication(2, 8));
+        SecurityContextHolder.getContext().setAuthentication(tokenProvider.authenticate(token).getAuthentication());
+
+        SecuredService target = new SecuredService();
+        if (mode.equals("none")) {
+            service = target;
+            return;
+        }
+        AuthorizationManager<MethodInvocation> expressionManager = new PreAuthorizeAuthorizationManager();
+        AuthorizationManager<MethodInvocation> authorizationManager = mode.equals("precomputed")
+                ? new PrecomputedRoleAuthorizationManager(tokenProvider.getAuthorityRegistry(), expressionManager)
+                : expressionManager;
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(AuthorizationManagerBeforeMethodInterceptor.preAuthorize(authorizationManager));
+        service = (SecuredService) proxyFactory.getProxy();
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    //UserController.getMyUserInfo와 같은 표현식
+    @Benchmark
+    public int hasAnyRoleUserOrAdmin() {
+        return service.user();
+    }
+
+    //UserController.getUserInfo와 같은 표현식
+    @Benchmark
+    public int hasAnyRoleAdmin() {
+        return service.admin();
+    }
+
+    public static class SecuredService {
+        @PreAuthorize("hasAnyRole('USER','ADMIN')")
+        public int user() {
+            return 1;
+        }
+
+        @PreAuthorize("hasAnyRole('ADMIN')")
+        public int admin() {
+            return 2;
+        }
+    }
+}
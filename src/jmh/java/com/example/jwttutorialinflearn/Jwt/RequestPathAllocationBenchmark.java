@@ -0,0 +1,68 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import com.example.jwttutorialinflearn.Util.Authorities;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+//요청마다 실행되는 헤더 추출, 캐시 조회, 권한 클레임 변환의 할당량을 이전 방식(legacy*)과 비교한다.
+//build.gradle의 jmh 설정에 gc 프로파일러가 켜져 있으므로 결과의 gc.alloc.rate.norm(bytes/op)을 비교하면 된다.
+//  ./gradlew jmh -PjmhIncludes=RequestPathAllocationBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestPathAllocationBenchmark {
+
+    @Param({"ROLE_USER", "ROLE_USER,ROLE_ADMIN"})
+    public String authorityClaim;
+
+    private String authorizationHeader;
+    private BearerTokenAuthenticator authenticator;
+    private MessageDigest sha256;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        TokenProvider tokenProvider = BenchmarkFixtures.tokenProvider(true);
+        authorizationHeader = "Bearer " + tokenProvider.createToken(BenchmarkFixtures.authentication(2, 8));
+        authenticator = new BearerTokenAuthenticator(tokenProvider, new TokenDenylist(100000, 0.01));
+        //캐시에 넣어둔다.
+        authenticator.authenticate(authorizationHeader);
+        sha256 = MessageDigest.getInstance("SHA-256");
+    }
+
+    //이전 방식: substring으로 토큰을 잘라내고, 토큰을 byte[]로 바꿔서 새 다이제스트 배열을 만들어 캐시 키를 만든다.
+    //(VerifiedTokenCache는 이제 다이제스트 없이 토큰 문자의 해시와 원문 비교로 조회하므로 캐시 히트는 0 bytes/op이다)
+    @Benchmark
+    public byte[] legacyCacheKey() {
+        String token = authorizationHeader.substring(7);
+        return sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    //현재 방식: 헤더 값에서 바로 캐시를 조회하고 폐기 여부까지 확인한다.
+    @Benchmark
+    public TokenValidationResult cachedAuthenticate() {
+        return authenticator.authenticate(authorizationHeader);
+    }
+
+    //이전 방식: split + stream + 권한마다 새 SimpleGrantedAuthority + 새 ArrayList
+    @Benchmark
+    public List<GrantedAuthority> legacyAuthorities() {
+        return Arrays.stream(authorityClaim.split(","))
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+    }
+
+    //현재 방식: 클레임 문자열로 미리 만들어둔 불변 리스트를 찾는다.
+    @Benchmark
+    public List<GrantedAuthority> internedAuthorities() {
+        return Authorities.listOf(authorityClaim);
+    }
+}
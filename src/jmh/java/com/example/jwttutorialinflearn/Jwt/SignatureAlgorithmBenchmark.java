@@ -0,0 +1,37 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+//jwt.algorithm 별 토큰 발급/검증 비용 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SignatureAlgorithmBenchmark {
+
+    @Param({"HS256", "HS512", "RS256", "PS256", "ES256"})
+    public String algorithm;
+
+    private TokenProvider tokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = BenchmarkFixtures.tokenProvider(algorithm, false);
+        authentication = BenchmarkFixtures.authentication(2, 8);
+        token = tokenProvider.createToken(authentication);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(authentication);
+    }
+
+    @Benchmark
+    public TokenValidationResult verifyToken() {
+        return tokenProvider.verifyToken(token);
+    }
+}
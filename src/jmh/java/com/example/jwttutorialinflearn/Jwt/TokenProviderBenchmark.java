@@ -0,0 +1,56 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+//토큰 발급, 검증, 클레임 -> 권한 변환 비용을 각각 측정한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TokenProviderBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int authorityCount;
+
+    @Param({"8", "256"})
+    public int usernameLength;
+
+    private TokenProvider tokenProvider;
+    private Authentication authentication;
+    private String token;
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = BenchmarkFixtures.tokenProvider(false);
+        authentication = BenchmarkFixtures.authentication(authorityCount, usernameLength);
+        token = tokenProvider.createToken(authentication);
+        claims = tokenProvider.verifyToken(token).getClaims();
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(authentication);
+    }
+
+    //서명 검증 + 파싱
+    @Benchmark
+    public TokenValidationResult verifyToken() {
+        return tokenProvider.verifyToken(token);
+    }
+
+    //이미 파싱된 클레임에서 권한 목록과 Authentication 객체를 만드는 비용
+    @Benchmark
+    public Authentication claimsToAuthentication() {
+        return tokenProvider.getAuthentication(claims, token);
+    }
+
+    //기존 방식: validateToken + getAuthentication(token)으로 두번 검증
+    @Benchmark
+    public Authentication validateThenGetAuthentication() {
+        return tokenProvider.validateToken(token) ? tokenProvider.getAuthentication(token) : null;
+    }
+}
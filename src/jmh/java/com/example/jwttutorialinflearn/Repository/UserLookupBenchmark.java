@@ -0,0 +1,80 @@
+package com.example.jwttutorialinflearn.Repository;
+
+import com.example.jwttutorialinflearn.Entity.User;
+import com.example.jwttutorialinflearn.JwtTutorialInflearnApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+//로그인 조회(findOneWithAuthoritiesByUsername)의 지연시간과 호출당 SQL 수를 2차 캐시 + 쿼리 캐시 유무로 비교한다.
+//애플리케이션 컨텍스트를 인메모리 H2로 띄우고, Hibernate 통계(prepared statement 수)로 SQL 수를 센다.
+//UserCacheService(유저 캐시)를 거치지 않고 리포지토리를 직접 호출하므로 유저 캐시 미스 시의 비용이다.
+//2차 캐시 설정은 prod 프로필에만 있으므로 secondLevelCache가 true이면 같은 설정을 여기서 넣는다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserLookupBenchmark {
+
+    @Param({"false", "true"})
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private Statistics statistics;
+    private final LongAdder calls = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(JwtTutorialInflearnApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:lookup-" + secondLevelCache + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache,
+                        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+                        "spring.jpa.properties.hibernate.javax.cache.provider="
+                                + "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+                        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+                        "logging.level.com.example=WARN")
+                .run();
+        userRepository = context.getBean(UserRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        calls.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printQueriesPerCall() {
+        long count = calls.sum();
+        if (count > 0) {
+            System.out.printf("%n[secondLevelCache=%s] SQL/호출: %.3f, 2차 캐시 적중: %d, 쿼리 캐시 적중: %d%n",
+                    secondLevelCache, (double) statistics.getPrepareStatementCount() / count,
+                    statistics.getSecondLevelCacheHitCount(), statistics.getQueryCacheHitCount());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int findOneWithAuthoritiesByUsername() {
+        calls.increment();
+        User user = userRepository.findOneWithAuthoritiesByUsername("user").orElseThrow();
+        return user.getAuthorities().size();
+    }
+}
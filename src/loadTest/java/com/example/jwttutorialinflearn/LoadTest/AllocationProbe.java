@@ -0,0 +1,101 @@
+package com.example.jwttutorialinflearn.LoadTest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+//애플리케이션과 부하 클라이언트가 같은 JVM에 있으므로, 서버 스레드(Tomcat 요청 스레드, BCrypt 스레드)의
+//할당량만 골라서 센다. (com.sun.management.ThreadMXBean) GC 횟수와 시간은 JVM 전체 값이다.
+//서버 스레드가 virtual thread이면 스레드별 할당량을 알 수 없으므로 platform thread 모드에서 사용한다.
+public class AllocationProbe {
+
+    private static final String[] SERVER_THREAD_PREFIXES = {"http-nio-", "password-hashing-"};
+
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private Map<Long, Long> startBytes;
+    private long startGcCount;
+    private long startGcMillis;
+
+    public AllocationProbe() {
+        this.threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    public void start() {
+        startBytes = serverThreadAllocatedBytes();
+        startGcCount = gcCount();
+        startGcMillis = gcMillis();
+    }
+
+    //start() 이후 서버 스레드가 할당한 바이트 수. 도중에 생긴 스레드는 0부터 센다. (도중에 끝난 스레드는 빠진다)
+    public Snapshot stop() {
+        long bytes = 0;
+        for (Map.Entry<Long, Long> entry : serverThreadAllocatedBytes().entrySet()) {
+            bytes += entry.getValue() - startBytes.getOrDefault(entry.getKey(), 0L);
+        }
+        return new Snapshot(bytes, gcCount() - startGcCount, gcMillis() - startGcMillis);
+    }
+
+    private Map<Long, Long> serverThreadAllocatedBytes() {
+        Map<Long, Long> allocated = new HashMap<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (isServerThread(thread.getName())) {
+                long bytes = threadMXBean.getThreadAllocatedBytes(thread.getId());
+                if (bytes >= 0) {
+                    allocated.put(thread.getId(), bytes);
+                }
+            }
+        }
+        return allocated;
+    }
+
+    private static boolean isServerThread(String name) {
+        for (String prefix : SERVER_THREAD_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    public static final class Snapshot {
+        private final long allocatedBytes;
+        private final long gcCount;
+        private final long gcMillis;
+
+        private Snapshot(long allocatedBytes, long gcCount, long gcMillis) {
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public long getGcCount() {
+            return gcCount;
+        }
+
+        public long getGcMillis() {
+            return gcMillis;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.jwttutorialinflearn.LoadTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+//인메모리 H2에 유저 수천 명을 넣고 애플리케이션을 띄워서 인증 API에 섞인 부하를 주는 end-to-end 부하 테스트.
+//  GET /api/user 60%, POST /api/authenticate 20%, GET /api/user/{username} 15%, POST /api/signup 5%
+//전체/API별 처리량, p50/p99/p99.9 지연시간, 서버 스레드의 요청당 할당량을 출력하고 JSON 파일로 남긴다. (회귀 추적용)
+//./gradlew authLoadTest -PloadTestUsers=5000 -PloadTestConcurrency=64 -PloadTestDurationSeconds=30
+public class AuthThroughputSuite {
+
+    private static final String PASSWORD = "load-test-password";
+    //시드 유저 id. 회원가입(users_seq, 1000부터)과 겹치지 않는 범위를 사용한다.
+    private static final long SEED_USER_ID_BASE = 1_000_000;
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    public static void main(String[] args) throws Exception {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 20);
+        Path resultFile = Path.of(args.length > 3 ? args[3] : "build/reports/loadtest/auth-throughput.json");
+        Duration warmup = Duration.ofSeconds(Math.max(1, duration.getSeconds() / 4));
+
+        ConfigurableApplicationContext context = ThreadModeComparison.startApplication(false, "auth-suite");
+        try {
+            long seedStart = System.nanoTime();
+            seedUsers(context, users);
+            System.out.printf("유저 %d명 생성: %dms%n", users, (System.nanoTime() - seedStart) / 1_000_000);
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            List<LoadDriver.Operation> operations = operations(client, baseUrl, users, concurrency);
+            LoadDriver driver = new LoadDriver(client);
+
+            driver.runMix("warmup", concurrency, Duration.ZERO, warmup, operations);
+            AllocationProbe probe = new AllocationProbe();
+            probe.start();
+            List<LoadResult> results = driver.runMix("mixed", concurrency, Duration.ZERO, duration, operations);
+            AllocationProbe.Snapshot allocation = probe.stop();
+
+            System.out.println();
+            results.forEach(System.out::println);
+            long requests = results.get(0).getRequests();
+            System.out.printf("서버 스레드 할당량: %.1f KB/요청, GC %d회 (%dms)%n",
+                    requests == 0 ? 0 : allocation.getAllocatedBytes() / 1024.0 / requests,
+                    allocation.getGcCount(), allocation.getGcMillis());
+
+            writeResult(resultFile, context, users, concurrency, duration, results, allocation);
+            System.out.println("결과 파일: " + resultFile.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    //users, user_authority에 JDBC 배치로 유저를 넣는다. 비밀번호 해시는 설정된 cost로 한번만 만들어서 공유한다.
+    //100명 중 1명은 ADMIN 권한도 가진다.
+    private static void seedUsers(ConfigurableApplicationContext context, int users) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        for (int from = 0; from < users; from += SEED_BATCH_SIZE) {
+            List<Object[]> userRows = new ArrayList<>(SEED_BATCH_SIZE);
+            List<Object[]> authorityRows = new ArrayList<>(SEED_BATCH_SIZE + SEED_BATCH_SIZE / 100);
+            for (int i = from; i < Math.min(users, from + SEED_BATCH_SIZE); i++) {
+                long userId = SEED_USER_ID_BASE + i;
+                userRows.add(new Object[]{userId, username(i), passwordHash, "nick" + i});
+                authorityRows.add(new Object[]{userId, "ROLE_USER"});
+                if (i % 100 == 0) {
+                    authorityRows.add(new Object[]{userId, "ROLE_ADMIN"});
+                }
+            }
+            jdbcTemplate.batchUpdate(
+                    "insert into users (user_id, username, password, nickname, activated) values (?, ?, ?, ?, true)", userRows);
+            jdbcTemplate.batchUpdate("insert into user_authority (user_id, authority_name) values (?, ?)", authorityRows);
+        }
+    }
+
+    private static String username(int index) {
+        return "loaduser" + index;
+    }
+
+    private static List<LoadDriver.Operation> operations(HttpClient client, String baseUrl, int users, int concurrency)
+            throws Exception {
+        //클라이언트마다 다른 시드 유저의 토큰을 사용한다.
+        String[] userTokens = new String[concurrency];
+        for (int worker = 0; worker < concurrency; worker++) {
+            userTokens[worker] = ThreadModeComparison.login(client, baseUrl, username(worker % users), PASSWORD);
+        }
+        String adminToken = ThreadModeComparison.login(client, baseUrl, "admin", "admin");
+        HttpRequest[] userRequests = new HttpRequest[concurrency];
+        for (int worker = 0; worker < concurrency; worker++) {
+            userRequests[worker] = HttpRequest.newBuilder(URI.create(baseUrl + "/api/user"))
+                    .header("Authorization", "Bearer " + userTokens[worker])
+                    .GET()
+                    .build();
+        }
+        //warmup과 측정 구간에서 같은 이름으로 가입하지 않도록 실행 전체에서 하나의 번호를 사용한다.
+        AtomicLong signupSequence = new AtomicLong();
+        String signupPrefix = "signup" + Long.toString(System.currentTimeMillis(), 36) + "-";
+
+        return List.of(
+                LoadDriver.Operation.of("GET /api/user", 60, (httpClient, worker, iteration) ->
+                        httpClient.send(userRequests[worker], HttpResponse.BodyHandlers.discarding()).statusCode()),
+                LoadDriver.Operation.of("POST /api/authenticate", 20, (httpClient, worker, iteration) ->
+                        httpClient.send(ThreadModeComparison.loginRequest(baseUrl, randomUsername(users), PASSWORD),
+                                HttpResponse.BodyHandlers.discarding()).statusCode()),
+                LoadDriver.Operation.of("GET /api/user/{username}", 15, (httpClient, worker, iteration) ->
+                        httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/user/" + randomUsername(users)))
+                                .header("Authorization", "Bearer " + adminToken)
+                                .GET()
+                                .build(), HttpResponse.BodyHandlers.discarding()).statusCode()),
+                LoadDriver.Operation.of("POST /api/signup", 5, (httpClient, worker, iteration) -> {
+                    String username = signupPrefix + signupSequence.incrementAndGet();
+                    return httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/signup"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username
+                                    + "\",\"password\":\"" + PASSWORD + "\",\"nickname\":\"" + username + "\"}"))
+                            .build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                }));
+    }
+
+    private static String randomUsername(int users) {
+        return username(ThreadLocalRandom.current().nextInt(users));
+    }
+
+    private static void writeResult(Path resultFile, ConfigurableApplicationContext context, int users, int concurrency,
+                                    Duration duration, List<LoadResult> results, AllocationProbe.Snapshot allocation)
+            throws Exception {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", users);
+        config.put("concurrency", concurrency);
+        config.put("durationSeconds", duration.getSeconds());
+        config.put("bcryptStrength", context.getEnvironment().getProperty("password.bcrypt.strength"));
+        config.put("javaVersion", Runtime.version().toString());
+        config.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        for (LoadResult result : results) {
+            Map<String, Object> scenario = new LinkedHashMap<>();
+            scenario.put("name", result.getName());
+            scenario.put("requests", result.getRequests());
+            scenario.put("errors", result.getErrors());
+            scenario.put("throughputPerSecond", result.getThroughputPerSecond());
+            scenario.put("p50Millis", result.getLatencyMillis(50));
+            scenario.put("p99Millis", result.getLatencyMillis(99));
+            scenario.put("p999Millis", result.getLatencyMillis(99.9));
+            scenarios.add(scenario);
+        }
+
+        long requests = results.get(0).getRequests();
+        Map<String, Object> allocationResult = new LinkedHashMap<>();
+        allocationResult.put("serverAllocatedBytes", allocation.getAllocatedBytes());
+        allocationResult.put("serverAllocatedBytesPerRequest", requests == 0 ? 0 : allocation.getAllocatedBytes() / requests);
+        allocationResult.put("gcCount", allocation.getGcCount());
+        allocationResult.put("gcMillis", allocation.getGcMillis());
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("timestamp", Instant.now().toString());
+        root.put("config", config);
+        root.put("results", scenarios);
+        root.put("allocation", allocationResult);
+
+        if (resultFile.getParent() != null) {
+            Files.createDirectories(resultFile.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile.toFile(), root);
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.jwttutorialinflearn.LoadTest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+//고정된 동시성(concurrency개의 클라이언트 스레드)으로 시나리오를 반복 실행하고 지연시간을 기록한다.
+//각 클라이언트는 응답을 받은 뒤에 다음 요청을 보내는 closed-loop 방식이다.
+//여러 시나리오를 가중치로 섞어서(runMix) 실행하면 전체 결과와 시나리오별 결과를 같이 리턴한다.
+public class LoadDriver {
+
+    //요청 하나를 보내고 HTTP 상태코드를 리턴한다. worker는 0 ~ concurrency-1
+    @FunctionalInterface
+    public interface Scenario {
+        int execute(HttpClient client, int worker, long iteration) throws Exception;
+    }
+
+    //섞어서 실행할 시나리오 하나와 그 비중
+    public static final class Operation {
+        private final String label;
+        private final int weight;
+        private final Scenario scenario;
+
+        private Operation(String label, int weight, Scenario scenario) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("weight는 0보다 커야 합니다: " + label);
+            }
+            this.label = label;
+            this.weight = weight;
+            this.scenario = scenario;
+        }
+
+        public static Operation of(String label, int weight, Scenario scenario) {
+            return new Operation(label, weight, scenario);
+        }
+    }
+
+    //클라이언트 스레드 하나가 시나리오마다 기록할 최대 지연시간 개수. 넘으면 요청 수만 센다.
+    private static final int MAX_SAMPLES_PER_WORKER = 1_000_000;
+
+    private final HttpClient client;
+
+    public LoadDriver(HttpClient client) {
+        this.client = client;
+    }
+
+    public LoadResult run(String name, int concurrency, Duration warmup, Duration duration, Scenario scenario)
+            throws InterruptedException {
+        return runMix(name, concurrency, warmup, duration, List.of(Operation.of(name, 1, scenario))).get(0);
+    }
+
+    //operations를 weight 비율로 무작위로 섞어서 실행한다. 첫번째 결과가 전체, 이후는 operations 순서대로 시나리오별 결과이다.
+    public List<LoadResult> runMix(String name, int concurrency, Duration warmup, Duration duration,
+                                   List<Operation> operations) throws InterruptedException {
+        if (!warmup.isZero()) {
+            execute(concurrency, warmup, operations);
+        }
+        long started = System.nanoTime();
+        List<Worker> workers = execute(concurrency, duration, operations);
+        long elapsed = System.nanoTime() - started;
+
+        List<LoadResult> results = new ArrayList<>();
+        results.add(aggregate(name, concurrency, elapsed, workers, -1));
+        if (operations.size() > 1) {
+            for (int i = 0; i < operations.size(); i++) {
+                results.add(aggregate(name + " / " + operations.get(i).label, concurrency, elapsed, workers, i));
+            }
+        }
+        return results;
+    }
+
+    //operationIndex가 -1이면 모든 시나리오를 합친다.
+    private static LoadResult aggregate(String name, int concurrency, long elapsed, List<Worker> workers, int operationIndex) {
+        long requests = 0;
+        long errors = 0;
+        int samples = 0;
+        List<Recorder> recorders = new ArrayList<>();
+        for (Worker worker : workers) {
+            for (int i = 0; i < worker.recorders.length; i++) {
+                if (operationIndex < 0 || operationIndex == i) {
+                    recorders.add(worker.recorders[i]);
+                }
+            }
+        }
+        for (Recorder recorder : recorders) {
+            requests += recorder.requests;
+            errors += recorder.errors;
+            samples += recorder.sampleCount;
+        }
+        long[] latencies = new long[samples];
+        int offset = 0;
+        for (Recorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, latencies, offset, recorder.sampleCount);
+            offset += recorder.sampleCount;
+        }
+        return new LoadResult(name, concurrency, requests, errors, elapsed, latencies);
+    }
+
+    private List<Worker> execute(int concurrency, Duration duration, List<Operation> operations) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Worker> workers = new ArrayList<>(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                Worker worker = new Worker(i, deadline, operations);
+                workers.add(worker);
+                futures.add(executor.submit(worker));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return workers;
+    }
+
+    private final class Worker implements Runnable {
+        private final int index;
+        private final long deadline;
+        private final Operation[] operations;
+        private final int totalWeight;
+        private final Recorder[] recorders;
+
+        private Worker(int index, long deadline, List<Operation> operations) {
+            this.index = index;
+            this.deadline = deadline;
+            this.operations = operations.toArray(Operation[]::new);
+            this.totalWeight = operations.stream().mapToInt(operation -> operation.weight).sum();
+            this.recorders = new Recorder[this.operations.length];
+            for (int i = 0; i < recorders.length; i++) {
+                recorders[i] = new Recorder();
+            }
+        }
+
+        @Override
+        public void run() {
+            long iteration = 0;
+            while (System.nanoTime() < deadline) {
+                int operationIndex = pick();
+                long start = System.nanoTime();
+                int status;
+                try {
+                    status = operations[operationIndex].scenario.execute(client, index, iteration++);
+                } catch (Exception e) {
+                    status = -1;
+                }
+                recorders[operationIndex].record(System.nanoTime() - start, status);
+            }
+        }
+
+        private int pick() {
+            if (operations.length == 1) {
+                return 0;
+            }
+            int value = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (int i = 0; i < operations.length; i++) {
+                value -= operations[i].weight;
+                if (value < 0) {
+                    return i;
+                }
+            }
+            return operations.length - 1;
+        }
+    }
+
+    private static final class Recorder {
+        private long[] samples = new long[1024];
+        private int sampleCount;
+        private long requests;
+        private long errors;
+
+        private void record(long latency, int status) {
+            requests++;
+            if (status < 200 || status >= 300) {
+                errors++;
+            }
+            if (sampleCount == samples.length) {
+                if (samples.length >= MAX_SAMPLES_PER_WORKER) {
+                    return;
+                }
+                long[] grown = new long[Math.min(samples.length * 2, MAX_SAMPLES_PER_WORKER)];
+                System.arraycopy(samples, 0, grown, 0, sampleCount);
+                samples = grown;
+            }
+            samples[sampleCount++] = latency;
+        }
+    }
+}
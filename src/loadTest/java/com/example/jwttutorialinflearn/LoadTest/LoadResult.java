@@ -0,0 +1,60 @@
+package com.example.jwttutorialinflearn.LoadTest;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+//부하 테스트 한 구간의 결과. 지연시간은 나노초 단위로 모두 보관했다가 백분위수를 계산한다.
+public class LoadResult {
+    private final String name;
+    private final int concurrency;
+    private final long requests;
+    private final long errors;
+    private final long elapsedNanos;
+    private final long[] sortedLatencies;
+
+    public LoadResult(String name, int concurrency, long requests, long errors, long elapsedNanos, long[] latencies) {
+        this.name = name;
+        this.concurrency = concurrency;
+        this.requests = requests;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+        this.sortedLatencies = latencies.clone();
+        Arrays.sort(this.sortedLatencies);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getThroughputPerSecond() {
+        return requests * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    //percentile은 0~100. 결과는 밀리초
+    public double getLatencyMillis(double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))] / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-28s c=%-4d req=%-8d err=%-6d %10.1f req/s  p50=%7.2fms  p99=%7.2fms  p99.9=%7.2fms",
+                name, concurrency, requests, errors, getThroughputPerSecond(),
+                getLatencyMillis(50), getLatencyMillis(99), getLatencyMillis(99.9));
+    }
+}
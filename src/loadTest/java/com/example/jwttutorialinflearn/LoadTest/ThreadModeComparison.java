@@ -0,0 +1,102 @@
+package com.example.jwttutorialinflearn.LoadTest;
+
+import com.example.jwttutorialinflearn.JwtTutorialInflearnApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//같은 부하를 platform thread 모드와 virtual thread 모드(spring.threads.virtual.enabled)로 각각 주고
+///api/user(JPA 조회)와 /api/authenticate(BCrypt) 처리량과 p99를 비교한다.
+//virtual thread 모드는 Java 21 이상에서만 실행된다.
+public class ThreadModeComparison {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 20);
+        Duration warmup = Duration.ofSeconds(Math.max(1, duration.getSeconds() / 4));
+
+        List<LoadResult> results = new ArrayList<>();
+        results.addAll(runMode(false, concurrency, warmup, duration));
+        if (Runtime.version().feature() >= 21) {
+            results.addAll(runMode(true, concurrency, warmup, duration));
+        } else {
+            System.out.println("Java " + Runtime.version().feature() + " 에서는 virtual thread 모드를 건너뜁니다. (Java 21 이상 필요)");
+        }
+
+        System.out.println();
+        results.forEach(System.out::println);
+    }
+
+    private static List<LoadResult> runMode(boolean virtualThreads, int concurrency, Duration warmup, Duration duration)
+            throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        ConfigurableApplicationContext context = startApplication(virtualThreads, "loadtest-" + mode);
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            String token = login(client, baseUrl, "user", "user");
+            LoadDriver driver = new LoadDriver(client);
+
+            HttpRequest userRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/api/user"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+            HttpRequest loginRequest = loginRequest(baseUrl, "user", "user");
+
+            List<LoadResult> results = new ArrayList<>();
+            results.add(driver.run(mode + " GET /api/user", concurrency, warmup, duration,
+                    (httpClient, worker, iteration) -> httpClient.send(userRequest, HttpResponse.BodyHandlers.discarding()).statusCode()));
+            results.add(driver.run(mode + " POST /api/authenticate", concurrency, warmup, duration,
+                    (httpClient, worker, iteration) -> httpClient.send(loginRequest, HttpResponse.BodyHandlers.discarding()).statusCode()));
+            results.forEach(System.out::println);
+            return results;
+        } finally {
+            context.close();
+        }
+    }
+
+    //외부 H2 서버 대신 모드마다 새 인메모리 DB로 애플리케이션을 띄운다.
+    static ConfigurableApplicationContext startApplication(boolean virtualThreads, String databaseName, String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "spring.jpa.properties.hibernate.show_sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                //한 IP, 한 계정으로 로그인을 반복하므로 요청 수 제한은 끈다.
+                "rate-limit.enabled=false",
+                "logging.level.com.example=WARN"));
+        properties.addAll(List.of(extraProperties));
+        return new SpringApplicationBuilder(JwtTutorialInflearnApplication.class)
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+
+    static HttpRequest loginRequest(String baseUrl, String username, String password) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .build();
+    }
+
+    static String login(HttpClient client, String baseUrl, String username, String password) throws Exception {
+        HttpResponse<String> response = client.send(loginRequest(baseUrl, username, password), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("로그인 실패: " + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.jwttutorialinflearn.Audit;
+
+//감사 로그 이벤트 종류
+public enum AuditEventType {
+    LOGIN_SUCCESS,
+    //비밀번호 불일치, 없는 계정, 요청 수 제한 등. 사유는 detail에 남는다.
+    LOGIN_FAILURE,
+    SIGNUP,
+    //만료, 잘못된 서명, 폐기된 토큰 등으로 JWT 인증에 실패한 요청
+    TOKEN_FAILURE,
+    //관리자의 다른 유저 정보 조회 (/api/user/{username})
+    ADMIN_USER_LOOKUP
+}
@@ -0,0 +1,259 @@
+package com.example.jwttutorialinflearn.Audit;
+
+import com.example.jwttutorialinflearn.RateLimit.RateLimitPolicy;
+import com.example.jwttutorialinflearn.RateLimit.RateLimiter;
+import com.example.jwttutorialinflearn.Util.RateLimitedLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+//인증 감사 로그. 요청 스레드는 이벤트를 링 버퍼에 넣기만 하고(CAS 한번), 기록 스레드 하나가 모아서 audit_event 테이블에 JDBC 배치로 쓴다.
+//그래서 로그인, JWT 필터 등의 요청 처리에 DB 왕복이 추가되지 않는다.
+//버퍼가 가득 찼을 때의 정책(audit.backpressure):
+//  DROP  : 이벤트를 버리고 audit.events{result=dropped}를 증가시킨다. (기본값, 요청 지연 없음)
+//  BLOCK : 최대 audit.block-timeout-ms 동안 자리가 날 때까지 기다리고, 그래도 가득 차 있으면 버린다.
+//DB 쓰기에 실패한 배치는 버리고 audit.write.failures를 증가시킨다.
+//
+//토큰 검증 실패(TOKEN_FAILURE)는 인증 없이 누구나 만들 수 있으므로 클라이언트 IP 단위로 요청 수 제한(RateLimiter)을 걸고,
+//한도를 넘은 이벤트는 버퍼에 넣지 않고 audit.events{result=throttled}로만 센다.
+//보관기간(audit.retention-days)이 지난 이벤트는 purgeExpired가 id 구간 단위로 나눠서 지운다.
+@Component
+public class AuditLog implements InitializingBean, DisposableBean {
+
+    public enum Backpressure { DROP, BLOCK }
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+    private static final String INSERT_SQL =
+            "insert into audit_event (event_time, event_type, username, detail, client_ip) values (?, ?, ?, ?, ?)";
+    private static final String PURGE_SQL =
+            "delete from audit_event where audit_event_id > ? and audit_event_id <= ? and event_time < ?";
+    private static final int MAX_USERNAME_LENGTH = 50;
+    private static final int MAX_DETAIL_LENGTH = 200;
+    private static final int MAX_CLIENT_IP_LENGTH = 45;
+    //BLOCK 정책에서 자리가 났는지 다시 확인하는 간격
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final String UNKNOWN_CLIENT = "unknown";
+
+    private final RateLimitedLogger failureLogger = new RateLimitedLogger(logger, 1, Duration.ofSeconds(10));
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final AuditRingBuffer buffer;
+    private final Backpressure backpressure;
+    private final long blockTimeoutNanos;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Counter queuedCounter;
+    private final Counter droppedCounter;
+    private final Counter throttledCounter;
+    private final RateLimiter rateLimiter;
+    private final RateLimitPolicy tokenFailurePolicy;
+    private final int retentionDays;
+    private final int purgeBatchSize;
+    private final Counter writeFailureCounter;
+    private final Timer writeTimer;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public AuditLog(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            RateLimiter rateLimiter,
+            @Value("${audit.enabled:true}") boolean enabled,
+            @Value("${audit.buffer-size:8192}") int bufferSize,
+            @Value("${audit.backpressure:DROP}") String backpressure,
+            @Value("${audit.block-timeout-ms:50}") long blockTimeoutMillis,
+            @Value("${audit.batch-size:500}") int batchSize,
+            @Value("${audit.flush-interval-ms:200}") long flushIntervalMillis,
+            @Value("${audit.token-failure.capacity:10}") long tokenFailureCapacity,
+            @Value("${audit.token-failure.refill-per-second:0.1}") double tokenFailureRefillPerSecond,
+            @Value("${audit.retention-days:90}") int retentionDays,
+            @Value("${audit.purge-batch-size:5000}") int purgeBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        //prod 프로필처럼 auto-commit이 꺼져 있어도 커밋되도록 트랜잭션 안에서 쓴다.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.buffer = new AuditRingBuffer(bufferSize);
+        this.backpressure = Backpressure.valueOf(backpressure.trim().toUpperCase(Locale.ROOT));
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.rateLimiter = rateLimiter;
+        this.tokenFailurePolicy = new RateLimitPolicy("audit-token-failure", tokenFailureCapacity, tokenFailureRefillPerSecond);
+        this.retentionDays = retentionDays;
+        this.purgeBatchSize = purgeBatchSize;
+
+        this.queuedCounter = eventCounter(meterRegistry, "queued");
+        this.droppedCounter = eventCounter(meterRegistry, "dropped");
+        this.throttledCounter = eventCounter(meterRegistry, "throttled");
+        this.writeFailureCounter = Counter.builder("audit.write.failures")
+                .description("DB에 쓰지 못하고 버린 감사 이벤트 수")
+                .register(meterRegistry);
+        this.writeTimer = Timer.builder("audit.write")
+                .description("감사 이벤트 배치 쓰기 시간")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("기록을 기다리는 감사 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("audit.events")
+                .description("감사 이벤트 수 (queued: 버퍼에 들어감, dropped: 버퍼가 가득 차서 버림, throttled: IP별 한도 초과)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::writeLoop, "audit-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    //감사 이벤트를 남긴다. 요청 스레드에서 호출되며 DB에 접근하지 않는다. username, clientIp는 null일 수 있다.
+    public void record(AuditEventType type, String username, String detail, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        if (type == AuditEventType.TOKEN_FAILURE
+                && !rateLimiter.tryAcquire(tokenFailurePolicy, clientIp == null ? UNKNOWN_CLIENT : clientIp).isAllowed()) {
+            throttledCounter.increment();
+            return;
+        }
+        AuditRecord record = new AuditRecord(System.currentTimeMillis(), type,
+                truncate(username, MAX_USERNAME_LENGTH), truncate(detail, MAX_DETAIL_LENGTH),
+                truncate(clientIp, MAX_CLIENT_IP_LENGTH));
+        if (buffer.offer(record) || (backpressure == Backpressure.BLOCK && offerBlocking(record))) {
+            queuedCounter.increment();
+        } else {
+            droppedCounter.increment();
+        }
+    }
+
+    private boolean offerBlocking(AuditRecord record) {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        while (System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (buffer.offer(record)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    //버퍼를 batchSize씩 비우면서 쓴다. 버퍼가 비어 있거나 배치가 덜 찼으면 flushInterval 동안 모은 뒤 다시 쓴다.
+    private void writeLoop() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running) {
+            int drained = buffer.drainTo(batch, batchSize);
+            if (drained > 0) {
+                write(batch);
+                batch.clear();
+            }
+            if (drained < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+        //종료 시 남은 이벤트를 모두 쓴다.
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditRecord> batch) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(),
+                    (statement, record) -> {
+                        statement.setTimestamp(1, new Timestamp(record.timestampMillis));
+                        statement.setString(2, record.type.name());
+                        statement.setString(3, record.username);
+                        statement.setString(4, record.detail);
+                        statement.setString(5, record.clientIp);
+                    }));
+        } catch (RuntimeException e) {
+            writeFailureCounter.increment(batch.size());
+            failureLogger.warn("감사 이벤트를 기록하지 못했습니다: {}", e.toString());
+        }
+        writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    //보관기간이 지난 이벤트를 지운다. 한 트랜잭션이 커지지 않도록 id 구간(purgeBatchSize개)마다 따로 지운다.
+    @Scheduled(fixedDelayString = "${audit.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        if (!enabled || retentionDays <= 0) {
+            return;
+        }
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(Duration.ofDays(retentionDays)));
+        Long maxId = jdbcTemplate.queryForObject(
+                "select max(audit_event_id) from audit_event where event_time < ?", Long.class, cutoff);
+        Long minId = jdbcTemplate.queryForObject("select min(audit_event_id) from audit_event", Long.class);
+        if (maxId == null || minId == null) {
+            return;
+        }
+        long deleted = 0;
+        for (long from = minId - 1; from < maxId; from += purgeBatchSize) {
+            long lower = from;
+            long upper = Math.min(from + purgeBatchSize, maxId);
+            Integer count = transactionTemplate.execute(status -> jdbcTemplate.update(PURGE_SQL, lower, upper, cutoff));
+            deleted += count == null ? 0 : count;
+        }
+        if (deleted > 0) {
+            logger.info("보관기간({}일)이 지난 감사 이벤트 {}건을 삭제했습니다.", retentionDays, deleted);
+        }
+    }
+
+    //버퍼에 남은 이벤트를 쓰고 기록 스레드를 멈춘다.
+    @Override
+    public void destroy() throws InterruptedException {
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+        writer = null;
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+}
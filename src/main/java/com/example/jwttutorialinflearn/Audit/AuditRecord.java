@@ -0,0 +1,18 @@
+package com.example.jwttutorialinflearn.Audit;
+
+//링 버퍼에 들어가는 감사 이벤트 하나. 요청 스레드에서 만들어지고 기록 스레드에서 DB에 쓰인다.
+final class AuditRecord {
+    final long timestampMillis;
+    final AuditEventType type;
+    final String username;
+    final String detail;
+    final String clientIp;
+
+    AuditRecord(long timestampMillis, AuditEventType type, String username, String detail, String clientIp) {
+        this.timestampMillis = timestampMillis;
+        this.type = type;
+        this.username = username;
+        this.detail = detail;
+        this.clientIp = clientIp;
+    }
+}
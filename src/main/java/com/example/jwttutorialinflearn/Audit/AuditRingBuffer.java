@@ -0,0 +1,83 @@
+package com.example.jwttutorialinflearn.Audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+//크기가 고정된 락 없는 링 버퍼. 여러 요청 스레드가 넣고(offer), 기록 스레드 하나만 꺼낸다(drainTo).
+//칸마다 시퀀스 번호를 두어서 생산자는 tail CAS 한번으로 칸을 예약하고, 시퀀스를 갱신해서 소비자에게 공개한다.
+//  시퀀스 == 위치      : 빈 칸 (생산자가 쓸 수 있다)
+//  시퀀스 == 위치 + 1  : 찬 칸 (소비자가 읽을 수 있다)
+//가득 차면 offer는 기다리지 않고 false를 리턴한다. (기다릴지 버릴지는 AuditLog의 정책이 정한다)
+final class AuditRingBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<AuditRecord> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    //소비자만 증가시킨다. size() 계산을 위해 Atomic으로 공개한다.
+    private final AtomicLong head = new AtomicLong();
+
+    AuditRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("capacity는 2 이상이어야 합니다: " + requestedCapacity);
+        }
+        //위치 계산을 나머지 연산 대신 비트 연산으로 하기 위해 2의 거듭제곱으로 올린다.
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(AuditRecord record) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, record);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                //소비자가 아직 한바퀴 전의 값을 꺼내지 않았다.
+                return false;
+            }
+            //다른 생산자가 먼저 칸을 가져갔다. 다시 시도한다.
+        }
+    }
+
+    //최대 max개를 꺼내서 out에 담는다. 기록 스레드에서만 호출한다.
+    int drainTo(List<AuditRecord> out, int max) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                //비어 있거나, 칸을 예약한 생산자가 아직 값을 쓰지 않았다.
+                break;
+            }
+            out.add(slots.get(index));
+            slots.set(index, null);
+            sequences.set(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head.lazySet(position);
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.jwttutorialinflearn.Config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+//Spring Cache 사용 설정. 캐시 구현체(Caffeine)와 크기, TTL은 application.yml에서 설정한다.
+@Configuration(proxyBeanMethods = false)
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,117 @@
+package com.example.jwttutorialinflearn.Config;
+
+import com.example.jwttutorialinflearn.Jwt.PrecomputedRoleAuthorizationManager;
+import com.example.jwttutorialinflearn.Jwt.TokenProvider;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.AuthorizationManagerAfterMethodInterceptor;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PostAuthorizeAuthorizationManager;
+import org.springframework.security.authorization.method.PostFilterAuthorizationMethodInterceptor;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.authorization.method.PreFilterAuthorizationMethodInterceptor;
+import org.springframework.security.config.core.GrantedAuthorityDefaults;
+
+//@PreAuthorize, @PostAuthorize, @PreFilter, @PostFilter 인터셉터 설정.
+//SecurityConfig의 @EnableMethodSecurity(prePostEnabled = false) 대신 네 인터셉터를 직접 등록한다.
+//SpEL 평가는 Spring Security 기본 설정과 같은 expression handler(ApplicationContext의 @bean 참조, RoleHierarchy,
+//GrantedAuthorityDefaults 반영)를 사용하고, MethodSecurityExpressionHandler 빈이 있으면 그것을 사용한다.
+//security.method.precomputed-roles가 true이면 @PreAuthorize의 단순한 권한 확인은 PrecomputedRoleAuthorizationManager가
+//비트 연산으로 처리한다. 단, RoleHierarchy가 있거나 role prefix가 "ROLE_"이 아니면 결과가 달라지므로 사용하지 않는다.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class MethodSecurityConfig {
+
+    private static final String DEFAULT_ROLE_PREFIX = "ROLE_";
+
+    //아래 빈들은 BeanPostProcessor 단계에서 만들어지므로 static으로 선언하고, 다른 빈은 ObjectProvider로 받는다.
+    //권한 목록은 토큰의 권한 마스크를 만든 TokenProvider의 AuthorityRegistry를 처음 권한을 확인할 때 가져온다.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preAuthorizeAuthorizationMethodInterceptor(
+            @Value("${security.method.precomputed-roles:true}") boolean precomputedRoles,
+            ObjectProvider<TokenProvider> tokenProvider,
+            ObjectProvider<MethodSecurityExpressionHandler> expressionHandlerProvider,
+            ObjectProvider<RoleHierarchy> roleHierarchy,
+            ObjectProvider<GrantedAuthorityDefaults> authorityDefaults,
+            ApplicationContext context) {
+        PreAuthorizeAuthorizationManager expressionManager = new PreAuthorizeAuthorizationManager();
+        expressionManager.setExpressionHandler(
+                expressionHandler(expressionHandlerProvider, roleHierarchy, authorityDefaults, context));
+        boolean precomputable = precomputedRoles
+                && roleHierarchy.getIfAvailable() == null
+                && DEFAULT_ROLE_PREFIX.equals(rolePrefix(authorityDefaults));
+        AuthorizationManager<MethodInvocation> authorizationManager = precomputable
+                ? new PrecomputedRoleAuthorizationManager(() -> tokenProvider.getObject().getAuthorityRegistry(), expressionManager)
+                : expressionManager;
+        return AuthorizationManagerBeforeMethodInterceptor.preAuthorize(authorizationManager);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postAuthorizeAuthorizationMethodInterceptor(
+            ObjectProvider<MethodSecurityExpressionHandler> expressionHandlerProvider,
+            ObjectProvider<RoleHierarchy> roleHierarchy,
+            ObjectProvider<GrantedAuthorityDefaults> authorityDefaults,
+            ApplicationContext context) {
+        PostAuthorizeAuthorizationManager manager = new PostAuthorizeAuthorizationManager();
+        manager.setExpressionHandler(expressionHandler(expressionHandlerProvider, roleHierarchy, authorityDefaults, context));
+        return AuthorizationManagerAfterMethodInterceptor.postAuthorize(manager);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preFilterAuthorizationMethodInterceptor(
+            ObjectProvider<MethodSecurityExpressionHandler> expressionHandlerProvider,
+            ObjectProvider<RoleHierarchy> roleHierarchy,
+            ObjectProvider<GrantedAuthorityDefaults> authorityDefaults,
+            ApplicationContext context) {
+        PreFilterAuthorizationMethodInterceptor interceptor = new PreFilterAuthorizationMethodInterceptor();
+        interceptor.setExpressionHandler(expressionHandler(expressionHandlerProvider, roleHierarchy, authorityDefaults, context));
+        return interceptor;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postFilterAuthorizationMethodInterceptor(
+            ObjectProvider<MethodSecurityExpressionHandler> expressionHandlerProvider,
+            ObjectProvider<RoleHierarchy> roleHierarchy,
+            ObjectProvider<GrantedAuthorityDefaults> authorityDefaults,
+            ApplicationContext context) {
+        PostFilterAuthorizationMethodInterceptor interceptor = new PostFilterAuthorizationMethodInterceptor();
+        interceptor.setExpressionHandler(expressionHandler(expressionHandlerProvider, roleHierarchy, authorityDefaults, context));
+        return interceptor;
+    }
+
+    //Spring Security가 @EnableMethodSecurity에서 만드는 것과 같은 expression handler
+    private static MethodSecurityExpressionHandler expressionHandler(
+            ObjectProvider<MethodSecurityExpressionHandler> expressionHandlerProvider,
+            ObjectProvider<RoleHierarchy> roleHierarchy,
+            ObjectProvider<GrantedAuthorityDefaults> authorityDefaults,
+            ApplicationContext context) {
+        return expressionHandlerProvider.getIfAvailable(() -> {
+            DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+            handler.setApplicationContext(context);
+            roleHierarchy.ifAvailable(handler::setRoleHierarchy);
+            handler.setDefaultRolePrefix(rolePrefix(authorityDefaults));
+            return handler;
+        });
+    }
+
+    private static String rolePrefix(ObjectProvider<GrantedAuthorityDefaults> authorityDefaults) {
+        GrantedAuthorityDefaults defaults = authorityDefaults.getIfAvailable();
+        return defaults != null ? defaults.getRolePrefix() : DEFAULT_ROLE_PREFIX;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.jwttutorialinflearn.Config;
+
+import com.example.jwttutorialinflearn.Util.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+//servlet, reactive 배포에서 같이 사용하는 PasswordEncoder 설정
+@Configuration(proxyBeanMethods = false)
+public class PasswordConfig {
+
+    //PasswordEncoder로는 BCrypt를 사용한다.
+    //BCrypt는 요청 스레드가 아니라 크기가 정해진 전용 스레드 풀에서 실행되고, 밀리면 503으로 바로 거절된다.
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${password.bcrypt.strength:10}") int strength,
+            @Value("${password.hashing.threads:0}") int threads,
+            @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${password.hashing.timeout-ms:5000}") long timeoutMillis,
+            MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(strength,
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity, timeoutMillis, meterRegistry);
+    }
+}
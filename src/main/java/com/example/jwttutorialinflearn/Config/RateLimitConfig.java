@@ -0,0 +1,19 @@
+package com.example.jwttutorialinflearn.Config;
+
+import com.example.jwttutorialinflearn.RateLimit.InMemoryTokenBucketRateLimiter;
+import com.example.jwttutorialinflearn.RateLimit.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+//요청 수 제한 저장소. 여러 노드가 한도를 공유해야 하면 RateLimiter 빈을 직접 등록하면 이 빈은 만들어지지 않는다.
+@Configuration(proxyBeanMethods = false)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(RateLimiter.class)
+    public RateLimiter rateLimiter(@Value("${rate-limit.max-keys:100000}") int maxKeys) {
+        return new InMemoryTokenBucketRateLimiter(maxKeys);
+    }
+}
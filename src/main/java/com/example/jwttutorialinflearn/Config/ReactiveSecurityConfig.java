@@ -0,0 +1,95 @@
+package com.example.jwttutorialinflearn.Config;
+
+import com.example.jwttutorialinflearn.Jwt.AuthMetrics;
+import com.example.jwttutorialinflearn.Jwt.JwksPublisher;
+import com.example.jwttutorialinflearn.Jwt.ReactiveJwtFilter;
+import com.example.jwttutorialinflearn.Jwt.TokenDenylist;
+import com.example.jwttutorialinflearn.Jwt.TokenProvider;
+import com.example.jwttutorialinflearn.Service.CustomUserDetailsService;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authorization.HttpStatusServerAccessDeniedHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+//reactive(WebFlux) 배포의 Security 설정. spring.main.web-application-type=reactive (reactive 프로필)일 때만 사용된다.
+//토큰 검증은 servlet 배포와 같은 TokenProvider, TokenDenylist를 사용한다.
+@Configuration(proxyBeanMethods = false)
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+    private final TokenProvider tokenProvider;
+    private final TokenDenylist tokenDenylist;
+    private final AuthMetrics authMetrics;
+
+    public ReactiveSecurityConfig(TokenProvider tokenProvider, TokenDenylist tokenDenylist, AuthMetrics authMetrics) {
+        this.tokenProvider = tokenProvider;
+        this.tokenDenylist = tokenDenylist;
+        this.authMetrics = authMetrics;
+    }
+
+    //로그인에 사용하는 AuthenticationManager.
+    //유저 조회(JPA)와 비밀번호 변경은 블로킹 작업이므로 boundedElastic 스케줄러에서 실행한다.
+    //BCrypt 비교도 UserDetailsRepositoryReactiveAuthenticationManager가 boundedElastic에서 실행한다.
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(
+            CustomUserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(username ->
+                        Mono.fromCallable(() -> userDetailsService.loadUserByUsername(username))
+                                .subscribeOn(Schedulers.boundedElastic()));
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        authenticationManager.setUserDetailsPasswordService((user, newPassword) ->
+                Mono.fromCallable(() -> userDetailsService.updatePassword(user, newPassword))
+                        .subscribeOn(Schedulers.boundedElastic()));
+        return authenticationManager;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable) //token을 쓰는 방식이므로 csrf를 disable
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+
+                //세션을 사용하지 않기 때문에 SecurityContext를 저장하지 않는다.
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+
+                .exceptionHandling(exceptionHandling -> exceptionHandling
+                        .accessDeniedHandler(new HttpStatusServerAccessDeniedHandler(HttpStatus.FORBIDDEN)) //필요한 권한이 존재하지 않는 경우
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)) //유효한 자격증명을 제공하지 않고 접근하려할 경우
+                )
+
+                .authorizeExchange(authorizeExchange -> authorizeExchange
+                        //(로그인API, 회원가입API, 토큰재발급API)는 토큰이 없는 상태에서 요청이 들어오므로 모두 허용.
+                        .pathMatchers("/api/hello", "/api/authenticate", "/api/signup", "/api/refresh").permitAll()
+                        //토큰을 검증하는 다른 서비스가 서명 공개키를 가져가는 경로
+                        .pathMatchers(JwksPublisher.PATH).permitAll()
+                        //쿠버네티스 probe(/actuator/health/liveness, readiness)는 토큰 없이 호출된다.
+                        .matchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        //나머지 actuator(startup, auth, metrics, caches)는 내부 정보이므로 관리자만 볼 수 있다.
+                        .matchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
+                        .anyExchange().authenticated() //나머지 요청들에 대해서는 인증을 받아야 한다.
+                )
+
+                //서명 검증은 parallel 스케줄러에서 실행해서 이벤트 루프를 막지 않는다.
+                .addFilterAt(new ReactiveJwtFilter(tokenProvider, tokenDenylist, authMetrics, Schedulers.parallel()),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
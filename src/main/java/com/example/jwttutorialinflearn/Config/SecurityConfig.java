@@ -1,9 +1,18 @@
 package com.example.jwttutorialinflearn.Config;
 
+import com.example.jwttutorialinflearn.Audit.AuditLog;
+import com.example.jwttutorialinflearn.Jwt.AuthMetrics;
 import com.example.jwttutorialinflearn.Jwt.JwtAccessDeniedHandler;
+import com.example.jwttutorialinflearn.Jwt.JwksPublisher;
 import com.example.jwttutorialinflearn.Jwt.JwtAuthenticationEntryPoint;
 import com.example.jwttutorialinflearn.Jwt.JwtSecurityConfig;
+import com.example.jwttutorialinflearn.Jwt.TokenDenylist;
 import com.example.jwttutorialinflearn.Jwt.TokenProvider;
+import com.example.jwttutorialinflearn.RateLimit.AuthRateLimiter;
+import com.example.jwttutorialinflearn.RateLimit.RateLimitFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,37 +22,43 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.filter.CorsFilter;
 
 
-@Configuration
+//servlet(Spring MVC) 배포의 Security 설정. reactive 배포에서는 ReactiveSecurityConfig를 사용한다.
+@Configuration(proxyBeanMethods = false)
 @EnableWebSecurity
-@EnableMethodSecurity
+@EnableMethodSecurity(prePostEnabled = false) //@PreAuthorize, @PostAuthorize, @PreFilter, @PostFilter는 MethodSecurityConfig에서 등록한다.
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig {
     private final TokenProvider tokenProvider;
+    private final TokenDenylist tokenDenylist;
+    private final AuthMetrics authMetrics;
+    private final AuthRateLimiter authRateLimiter;
+    private final AuditLog auditLog;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAccessDeniedHandler jwtAccessDeniedHandler;
 
     //생성자 주입. 만들었던 JWT관련 클래스를 주입해준다.
     public SecurityConfig(
             TokenProvider tokenProvider,
+            TokenDenylist tokenDenylist,
+            AuthMetrics authMetrics,
+            AuthRateLimiter authRateLimiter,
+            AuditLog auditLog,
             JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
             JwtAccessDeniedHandler jwtAccessDeniedHandler) {
         this.tokenProvider = tokenProvider;
+        this.tokenDenylist = tokenDenylist;
+        this.authMetrics = authMetrics;
+        this.authRateLimiter = authRateLimiter;
+        this.auditLog = auditLog;
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
         this.jwtAccessDeniedHandler = jwtAccessDeniedHandler;
     }
 
-    //PasswordEncoder로는 BCryptPasswordEncoder를 사용한다.
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -56,9 +71,17 @@ public class SecurityConfig {
 
                 //HttpServletRequest를 사용하는 요청들에 대한 접근제한을 설정하겠다.
                 .authorizeHttpRequests(authorizeHttpRequests -> authorizeHttpRequests
-                        //(로그인API, 회원가입API)는 토큰이 없는 상태에서 요청이 들어오므로 모두 허용.
-                        .requestMatchers("/api/hello", "/api/authenticate", "/api/signup").permitAll()
+                        //(로그인API, 회원가입API, 토큰재발급API)는 토큰이 없는 상태에서 요청이 들어오므로 모두 허용.
+                        .requestMatchers("/api/hello", "/api/authenticate", "/api/signup", "/api/refresh").permitAll()
                         .requestMatchers(PathRequest.toH2Console()).permitAll()
+                        //토큰을 검증하는 다른 서비스가 서명 공개키를 가져가는 경로
+                        .requestMatchers(JwksPublisher.PATH).permitAll()
+                        //예외 응답(503 등)의 상태코드가 401로 바뀌지 않도록 에러 페이지는 허용.
+                        .requestMatchers("/error").permitAll()
+                        //쿠버네티스 probe(/actuator/health/liveness, readiness)는 토큰 없이 호출된다.
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        //나머지 actuator(startup, auth, metrics, caches)는 내부 정보이므로 관리자만 볼 수 있다.
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
                         .anyRequest().authenticated() //나머지 요청들에 대해서는 인증을 받야아 한다.
                 )
 
@@ -72,8 +95,11 @@ public class SecurityConfig {
                         headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::sameOrigin)
                 )
 
+                //로그인/회원가입 요청은 BCrypt, DB 작업 전에 클라이언트 IP 단위로 요청 수를 제한한다.
+                .addFilterBefore(new RateLimitFilter(authRateLimiter), UsernamePasswordAuthenticationFilter.class)
+
                 //JwtFilter를 addFilterBefore로 등록했던 JwtSecurityConfig 클래스도 적용해줌.
-                .with(new JwtSecurityConfig(tokenProvider), customizer -> {});
+                .with(new JwtSecurityConfig(tokenProvider, tokenDenylist, authMetrics, auditLog), customizer -> {});
         return http.build();
     }
 }
\ No newline at end of file
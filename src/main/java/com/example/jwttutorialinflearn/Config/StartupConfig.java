@@ -0,0 +1,21 @@
+package com.example.jwttutorialinflearn.Config;
+
+import com.example.jwttutorialinflearn.Jwt.TokenProvider;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+//빠른 기동(fast-startup 프로필의 spring.main.lazy-initialization) 설정.
+//지연 초기화를 켜도 첫 요청 경로에 있는 빈은 기동 중에 만든다. (@Scheduled 빈은 Spring Boot가 이미 제외한다)
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    //키 파싱(TokenProvider), Security 필터 체인 구성을 첫 요청이 치르지 않도록 지연 초기화에서 제외한다.
+    @Bean
+    public static LazyInitializationExcludeFilter eagerAuthenticationBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                TokenProvider.class, SecurityFilterChain.class, SecurityWebFilterChain.class);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.jwttutorialinflearn.Config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//기동 시간을 단계별로 나눠서 로그로 남긴다.
+//  JVM -> SpringApplication.run, 컨텍스트 refresh(빈 생성, 스키마 생성, data.sql, Security 구성), runner(워밍업)
+//BufferingApplicationStartup(main에서 설정)으로 기동하면 자기 시간(하위 빈 제외)이 가장 긴 빈들도 같이 남긴다.
+//전체 기록은 /actuator/startup 에서 볼 수 있다.
+@Component
+public class StartupReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupReporter.class);
+    private static final int SLOWEST_BEANS = 10;
+
+    private volatile Duration refreshTime;
+
+    @EventListener
+    public void onStarted(ApplicationStartedEvent event) {
+        this.refreshTime = event.getTimeTaken();
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        Duration readyTime = event.getTimeTaken();
+        if (readyTime == null || refreshTime == null) {
+            return;
+        }
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        logger.info("기동 시간: 전체 {}ms = JVM 시작 {}ms + 컨텍스트 refresh {}ms + runner(워밍업) {}ms",
+                uptimeMillis,
+                Math.max(0, uptimeMillis - readyTime.toMillis()),
+                refreshTime.toMillis(),
+                readyTime.minus(refreshTime).toMillis());
+
+        ApplicationStartup applicationStartup = event.getApplicationContext().getApplicationStartup();
+        if (applicationStartup instanceof BufferingApplicationStartup buffering) {
+            logSlowestBeans(buffering.getBufferedTimeline());
+        }
+    }
+
+    //빈 생성 단계는 중첩되므로(의존하는 빈을 먼저 만든다) 하위 단계 시간을 빼서 빈 자체의 시간을 구한다.
+    private void logSlowestBeans(StartupTimeline timeline) {
+        Map<Long, Duration> childTime = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                childTime.merge(parentId, event.getDuration(), Duration::plus);
+            }
+        }
+
+        List<BeanTime> beans = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            StartupStep step = event.getStartupStep();
+            if (!"spring.beans.instantiate".equals(step.getName())) {
+                continue;
+            }
+            String beanName = null;
+            for (StartupStep.Tag tag : step.getTags()) {
+                if ("beanName".equals(tag.getKey())) {
+                    beanName = tag.getValue();
+                }
+            }
+            Duration self = event.getDuration().minus(childTime.getOrDefault(step.getId(), Duration.ZERO));
+            beans.add(new BeanTime(beanName, self));
+        }
+        beans.sort(Comparator.comparing(BeanTime::self).reversed());
+
+        StringBuilder report = new StringBuilder("기동 중 생성 시간이 가장 긴 빈:");
+        for (BeanTime bean : beans.subList(0, Math.min(SLOWEST_BEANS, beans.size()))) {
+            report.append(System.lineSeparator()).append("  ").append(bean.self().toMillis()).append("ms ").append(bean.name());
+        }
+        logger.info(report.toString());
+    }
+
+    private record BeanTime(String name, Duration self) {
+    }
+}
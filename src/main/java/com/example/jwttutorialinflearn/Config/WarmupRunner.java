@@ -0,0 +1,140 @@
+package com.example.jwttutorialinflearn.Config;
+
+import com.example.jwttutorialinflearn.Jwt.TokenDenylist;
+import com.example.jwttutorialinflearn.Jwt.TokenProvider;
+import com.example.jwttutorialinflearn.Jwt.TokenValidationResult;
+import com.example.jwttutorialinflearn.Repository.UserRepository;
+import com.example.jwttutorialinflearn.Util.Authorities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+//readiness가 ACCEPTING_TRAFFIC이 되기 전에 첫 요청들이 치르던 비용을 미리 치른다.
+//워밍업 동안은 readiness를 직접 REFUSING_TRAFFIC으로 두고, 끝나면(실패해도) ACCEPTING_TRAFFIC으로 바꾼다.
+//(/actuator/health/readiness를 보는 로드밸런서나 쿠버네티스는 워밍업이 끝난 뒤에 트래픽을 보낸다)
+//  - 토큰: 발급(서명) + 검증 + 폐기 확인 + Authentication 생성을 반복해서 jjwt, Jackson, 서명 코드를 JIT 컴파일시킨다.
+//  - BCrypt: 설정된 cost로 해시/비교해서 BCrypt 코드와 해시 전용 스레드 풀을 준비한다.
+//  - 유저 조회: 로그인 조회 쿼리를 실행해서 커넥션 풀, Hibernate 쿼리 plan, JDBC statement를 준비한다.
+//세 작업은 서로 독립적이므로 병렬로 실행한다. 워밍업 호출도 auth.* 지표에 기록된다.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+    //실제 유저와 겹치지 않는 이름. 조회 결과가 없어도 쿼리 경로는 그대로 실행된다.
+    private static final String WARMUP_USERNAME = "__warmup__";
+
+    private final TokenProvider tokenProvider;
+    private final TokenDenylist tokenDenylist;
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int tokenIterations;
+    private final int passwordIterations;
+    private final int lookupIterations;
+
+    public WarmupRunner(
+            TokenProvider tokenProvider,
+            TokenDenylist tokenDenylist,
+            PasswordEncoder passwordEncoder,
+            UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${warmup.enabled:true}") boolean enabled,
+            @Value("${warmup.token-iterations:2000}") int tokenIterations,
+            @Value("${warmup.password-iterations:2}") int passwordIterations,
+            @Value("${warmup.lookup-iterations:50}") int lookupIterations) {
+        this.tokenProvider = tokenProvider;
+        this.tokenDenylist = tokenDenylist;
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.tokenIterations = tokenIterations;
+        this.passwordIterations = passwordIterations;
+        this.lookupIterations = lookupIterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(3, runnable -> {
+            Thread thread = new Thread(runnable, "warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture.allOf(
+                    CompletableFuture.runAsync(() -> timed("토큰 발급/검증", this::warmUpTokens), executor),
+                    CompletableFuture.runAsync(() -> timed("BCrypt", this::warmUpPasswordEncoder), executor),
+                    CompletableFuture.runAsync(() -> timed("유저 조회", this::warmUpUserLookup), executor)
+            ).join();
+        } catch (RuntimeException e) {
+            //워밍업 실패로 기동을 막지는 않는다. 첫 요청들이 느릴 뿐이다.
+            logger.warn("워밍업 중 오류가 발생했습니다.", e);
+        } finally {
+            executor.shutdown();
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+        logger.info("워밍업 완료: {}ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void timed(String phase, Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        logger.info("워밍업 - {}: {}ms", phase, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void warmUpTokens() {
+        if (tokenProvider.getKeyRing().getSigningKey() == null || !tokenProvider.getKeyRing().getSigningKey().canSign()) {
+            //검증 전용 노드는 토큰을 만들 수 없으므로 건너뛴다.
+            return;
+        }
+        Authentication authentication = new UsernamePasswordAuthenticationToken(WARMUP_USERNAME, null,
+                List.of(Authorities.of("ROLE_USER")));
+        //검증된 토큰 캐시(jwt.cache)를 워밍업 토큰으로 채우지 않도록 캐시를 거치지 않는 경로를 사용한다.
+        for (int i = 0; i < tokenIterations; i++) {
+            String token = tokenProvider.createToken(authentication);
+            TokenValidationResult result = tokenProvider.verifyToken(token);
+            if (!result.isValid() || tokenDenylist.isRevoked(result.getClaims())) {
+                throw new IllegalStateException("워밍업 토큰 검증에 실패했습니다: " + result.getStatus());
+            }
+            tokenProvider.getAuthentication(result.getClaims(), token);
+        }
+    }
+
+    private void warmUpPasswordEncoder() {
+        String rawPassword = UUID.randomUUID().toString();
+        String encoded = passwordEncoder.encode(rawPassword);
+        for (int i = 0; i < passwordIterations; i++) {
+            passwordEncoder.matches(rawPassword, encoded);
+        }
+    }
+
+    private void warmUpUserLookup() {
+        for (int i = 0; i < lookupIterations; i++) {
+            userRepository.findOneWithAuthoritiesByUsername(WARMUP_USERNAME);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.jwttutorialinflearn.Controller;
+
+import com.example.jwttutorialinflearn.Audit.AuditEventType;
+import com.example.jwttutorialinflearn.Dto.AuditPageDto;
+import com.example.jwttutorialinflearn.Service.AuditQueryService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AuditController {
+    private final AuditQueryService auditQueryService;
+
+    public AuditController(AuditQueryService auditQueryService) {
+        this.auditQueryService = auditQueryService;
+    }
+
+    //감사 로그 조회 (최신순). type, username으로 거를 수 있고, 다음 페이지는 응답의 nextBeforeId를 beforeId로 넘긴다.
+    //기록은 비동기이므로 방금 일어난 이벤트는 audit.flush-interval-ms 정도 늦게 보인다.
+    @GetMapping("/audit")
+    @PreAuthorize("hasAnyRole('ADMIN')") //ADMIN 권한만 호출할 수 있는 API
+    public ResponseEntity<AuditPageDto> getAuditEvents(
+            @RequestParam(value = "beforeId", required = false) Long beforeId,
+            @RequestParam(value = "type", required = false) AuditEventType type,
+            @RequestParam(value = "username", required = false) String username,
+            @RequestParam(value = "size", defaultValue = "100") int size) {
+        return ResponseEntity.ok(auditQueryService.getEvents(beforeId, type, username, size));
+    }
+}
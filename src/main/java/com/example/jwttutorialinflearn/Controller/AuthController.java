@@ -1,43 +1,87 @@
 package com.example.jwttutorialinflearn.Controller;
 
+import com.example.jwttutorialinflearn.Audit.AuditEventType;
+import com.example.jwttutorialinflearn.Audit.AuditLog;
 import com.example.jwttutorialinflearn.Dto.LoginDto;
+import com.example.jwttutorialinflearn.Dto.RefreshRequestDto;
 import com.example.jwttutorialinflearn.Dto.TokenDto;
 import com.example.jwttutorialinflearn.Jwt.JwtFilter;
 import com.example.jwttutorialinflearn.Jwt.TokenProvider;
+import com.example.jwttutorialinflearn.RateLimit.AuthRateLimiter;
+import com.example.jwttutorialinflearn.RateLimit.RateLimitDecision;
+import com.example.jwttutorialinflearn.Service.RefreshTokenService;
+import com.example.jwttutorialinflearn.Service.TokenRevocationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthController {
     private final TokenProvider tokenProvider;
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final AuthRateLimiter authRateLimiter;
+    private final AuditLog auditLog;
 
-    public AuthController(TokenProvider tokenProvider, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    public AuthController(TokenProvider tokenProvider, AuthenticationManagerBuilder authenticationManagerBuilder,
+                          RefreshTokenService refreshTokenService, TokenRevocationService tokenRevocationService,
+                          AuthRateLimiter authRateLimiter, AuditLog auditLog) {
         this.tokenProvider = tokenProvider;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.authRateLimiter = authRateLimiter;
+        this.auditLog = auditLog;
     }
 
     //로그인
     @PostMapping("/authenticate")
-    public ResponseEntity<TokenDto> authorize(@Valid @RequestBody LoginDto loginDto) {
+    public ResponseEntity<TokenDto> authorize(@Valid @RequestBody LoginDto loginDto, HttpServletRequest request) {
+        //이 클라이언트에서 이 계정의 비밀번호를 여러번 틀렸으면 BCrypt 검증 전에 막는다.
+        RateLimitDecision decision = authRateLimiter.checkLogin(loginDto.getUsername(), request.getRemoteAddr());
+        if (!decision.isAllowed()) {
+            auditLog.record(AuditEventType.LOGIN_FAILURE, loginDto.getUsername(), "rate_limited", request.getRemoteAddr());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(decision.getRetryAfterSeconds()))
+                    .build();
+        }
+
         //LoginDto로 들어오는 입력을 받아서 권한토큰을 생성한다.
         UsernamePasswordAuthenticationToken authenticationToken =
                 new UsernamePasswordAuthenticationToken(loginDto.getUsername(), loginDto.getPassword());
 
         //권한토큰을 이용하여 Authentication 객체를 생성.
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
+        //성공, 실패 모두 감사 로그에 남긴다.
+        Authentication authentication;
+        try {
+            authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
+        } catch (AuthenticationException e) {
+            //비밀번호가 틀린 경우만 센다. (해시 작업 과부하 등은 대입 시도가 아니다)
+            if (e instanceof BadCredentialsException) {
+                authRateLimiter.recordLoginFailure(loginDto.getUsername(), request.getRemoteAddr());
+            }
+            auditLog.record(AuditEventType.LOGIN_FAILURE, loginDto.getUsername(), e.getClass().getSimpleName(),
+                    request.getRemoteAddr());
+            throw e;
+        }
+        auditLog.record(AuditEventType.LOGIN_SUCCESS, authentication.getName(), null, request.getRemoteAddr());
         //SecurityContext에 저장.
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -48,7 +92,34 @@ public class AuthController {
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.add(JwtFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
 
+        //Access Token 재발급에 사용할 refresh token도 같이 발급한다.
+        String refreshToken = refreshTokenService.issue(authentication.getName());
+
         //TokenDto를 이용해서 Response Body에도 넣어줘서 return 한다.
-        return new ResponseEntity<>(new TokenDto(jwt), httpHeaders, HttpStatus.OK);
+        return new ResponseEntity<>(new TokenDto(jwt, refreshToken), httpHeaders, HttpStatus.OK);
+    }
+
+    //Access Token 재발급. refresh token은 매번 새 토큰으로 교체된다.
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenDto> refresh(@Valid @RequestBody RefreshRequestDto refreshRequestDto) {
+        TokenDto tokenDto = refreshTokenService.refresh(refreshRequestDto.getRefreshToken());
+
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.add(JwtFilter.AUTHORIZATION_HEADER, "Bearer " + tokenDto.getToken());
+
+        return new ResponseEntity<>(tokenDto, httpHeaders, HttpStatus.OK);
+    }
+
+    //로그아웃. 현재 Access Token을 폐기하고, refresh token이 같이 오면 그 refresh token도 폐기한다.
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) RefreshRequestDto refreshRequestDto) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getCredentials() instanceof String token) {
+            tokenRevocationService.revokeToken(token);
+        }
+        if (refreshRequestDto != null && refreshRequestDto.getRefreshToken() != null) {
+            refreshTokenService.revoke(refreshRequestDto.getRefreshToken());
+        }
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.example.jwttutorialinflearn.Controller;
+
+import com.example.jwttutorialinflearn.Jwt.JwksPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+//토큰을 검증하는 다른 서비스(jwt-verifier 등)에 서명 공개키를 JWK Set으로 공개한다.
+//미리 만들어둔 JSON 바이트를 그대로 내보내고, If-None-Match가 현재 ETag와 같으면 본문 없이 304로 응답한다.
+//servlet, reactive 모드 모두에서 사용한다.
+@RestController
+public class JwksController {
+
+    private final JwksPublisher jwksPublisher;
+    private final CacheControl cacheControl;
+
+    public JwksController(
+            JwksPublisher jwksPublisher,
+            @Value("${jwt.jwks.max-age-seconds:300}") long maxAgeSeconds) {
+        this.jwksPublisher = jwksPublisher;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+    }
+
+    @GetMapping(JwksPublisher.PATH)
+    public ResponseEntity<byte[]> getJwks(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        JwksPublisher.Document document = jwksPublisher.getDocument();
+        if (ifNoneMatch != null && matches(ifNoneMatch, document.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(document.getEtag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(document.getEtag())
+                .cacheControl(cacheControl)
+                .body(document.getBody());
+    }
+
+    //If-None-Match는 ','로 구분된 ETag 목록이고 약한 비교를 사용한다. (RFC 9110 13.1.2)
+    private static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.jwttutorialinflearn.Controller;
+
+import com.example.jwttutorialinflearn.Dto.LoginDto;
+import com.example.jwttutorialinflearn.Dto.TokenDto;
+import com.example.jwttutorialinflearn.Jwt.JwtFilter;
+import com.example.jwttutorialinflearn.Jwt.TokenProvider;
+import com.example.jwttutorialinflearn.Service.RefreshTokenService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import jakarta.validation.Valid;
+
+//AuthController의 reactive 버전 (로그인)
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthController {
+    private final TokenProvider tokenProvider;
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+
+    public ReactiveAuthController(TokenProvider tokenProvider, ReactiveAuthenticationManager authenticationManager,
+                                  RefreshTokenService refreshTokenService) {
+        this.tokenProvider = tokenProvider;
+        this.authenticationManager = authenticationManager;
+        this.refreshTokenService = refreshTokenService;
+    }
+
+    //로그인
+    @PostMapping("/authenticate")
+    public Mono<ResponseEntity<TokenDto>> authorize(@Valid @RequestBody LoginDto loginDto) {
+        UsernamePasswordAuthenticationToken authenticationToken =
+                new UsernamePasswordAuthenticationToken(loginDto.getUsername(), loginDto.getPassword());
+
+        return authenticationManager.authenticate(authenticationToken)
+                //servlet에서는 ExceptionTranslationFilter가 401로 바꿔주지만 WebFlux에서는 직접 바꿔야 한다.
+                .onErrorMap(AuthenticationException.class,
+                        e -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, e.getMessage(), e))
+                //JWT 서명은 CPU 작업이므로 parallel 스케줄러에서 실행한다.
+                .publishOn(Schedulers.parallel())
+                .flatMap(authentication -> {
+                    String jwt = tokenProvider.createToken(authentication);
+                    //refresh token 저장은 블로킹(JPA) 작업이므로 boundedElastic 스케줄러에서 실행한다.
+                    return Mono.fromCallable(() -> refreshTokenService.issue(authentication.getName()))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .map(refreshToken -> new TokenDto(jwt, refreshToken));
+                })
+                //JWT 토큰을 Response Header와 Body에 넣어서 return 한다.
+                .map(tokenDto -> ResponseEntity.ok()
+                        .header(JwtFilter.AUTHORIZATION_HEADER, "Bearer " + tokenDto.getToken())
+                        .body(tokenDto));
+    }
+}
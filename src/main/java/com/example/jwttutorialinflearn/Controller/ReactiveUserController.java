@@ -0,0 +1,46 @@
+package com.example.jwttutorialinflearn.Controller;
+
+import com.example.jwttutorialinflearn.Dto.UserDto;
+import com.example.jwttutorialinflearn.Service.UserService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+//UserController 조회 API의 reactive 버전.
+//UserService는 JPA(블로킹)를 사용하므로 boundedElastic 스케줄러에서 호출한다.
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController {
+    private final UserService userService;
+
+    public ReactiveUserController(UserService userService) {
+        this.userService = userService;
+    }
+
+    @GetMapping("/user")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')") //USER, ADMIN 두가지 권한 모두 호출할 수 있는 API
+    public Mono<ResponseEntity<UserDto>> getMyUserInfo() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .flatMap(authentication -> Mono.fromCallable(() -> userService.getMyUserWithAuthorities(authentication))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/user/{username}")
+    @PreAuthorize("hasAnyRole('ADMIN')") //ADMIN 권한만 호출할 수 있는 API
+    public Mono<ResponseEntity<UserDto>> getUserInfo(@PathVariable("username") String username) {
+        return Mono.fromCallable(() -> userService.getUserWithAuthorities(username))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+}
@@ -1,32 +1,73 @@
 package com.example.jwttutorialinflearn.Controller;
 
+import com.example.jwttutorialinflearn.Audit.AuditEventType;
+import com.example.jwttutorialinflearn.Audit.AuditLog;
 import com.example.jwttutorialinflearn.Dto.UserDto;
+import com.example.jwttutorialinflearn.Dto.UserImportResultDto;
+import com.example.jwttutorialinflearn.Dto.UserPageDto;
+import com.example.jwttutorialinflearn.Service.TokenRevocationService;
+import com.example.jwttutorialinflearn.Service.UserImportService;
+import com.example.jwttutorialinflearn.Service.UserListingService;
 import com.example.jwttutorialinflearn.Service.UserService;
+import com.example.jwttutorialinflearn.Util.SecurityUtil;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserController {
     private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserImportService userImportService;
+    private final UserListingService userListingService;
+    private final AuditLog auditLog;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, TokenRevocationService tokenRevocationService,
+                          UserImportService userImportService, UserListingService userListingService,
+                          AuditLog auditLog) {
         this.userService = userService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.userImportService = userImportService;
+        this.userListingService = userListingService;
+        this.auditLog = auditLog;
     }
 
     //회원가입
     @PostMapping("/signup")
     public ResponseEntity<UserDto> signup(
-            @Valid @RequestBody UserDto userDto
+            @Valid @RequestBody UserDto userDto, HttpServletRequest request
     ) {
         //UserDto로 받아서 UserService의 signup 메소드 호출
-        return ResponseEntity.ok(userService.signup(userDto));
+        UserDto signedUp = userService.signup(userDto);
+        auditLog.record(AuditEventType.SIGNUP, signedUp.getUsername(), null, request.getRemoteAddr());
+        return ResponseEntity.ok(signedUp);
+    }
+
+    //대량 가입. JSON lines(application/x-ndjson) 또는 CSV(text/csv, username,password,nickname)를 스트리밍으로 읽는다.
+    //실패한 행은 응답의 errors에 담기고 나머지 행은 계속 가입된다.
+    @PostMapping(value = "/users/import", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasAnyRole('ADMIN')") //ADMIN 권한만 호출할 수 있는 API
+    public ResponseEntity<UserImportResultDto> importUsers(HttpServletRequest request) throws IOException {
+        UserImportService.Format format = new MediaType("text", "csv").isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        return ResponseEntity.ok(userImportService.importUsers(new InputStreamReader(request.getInputStream(), charset), format));
     }
 
     //===============username을 기준으로 유저 정보와 권한 정보를 리턴하는 API=======================
@@ -39,7 +80,36 @@ public class UserController {
 
     @GetMapping("/user/{username}")
     @PreAuthorize("hasAnyRole('ADMIN')") //ADMIN 권한만 호출할 수 있는 API
-    public ResponseEntity<UserDto> getUserInfo(@PathVariable("username") String username) {
+    public ResponseEntity<UserDto> getUserInfo(@PathVariable("username") String username, HttpServletRequest request) {
+        //누가(username) 누구를(detail) 조회했는지 남긴다.
+        auditLog.record(AuditEventType.ADMIN_USER_LOOKUP, SecurityUtil.getCurrentUsername().orElse(null), username,
+                request.getRemoteAddr());
         return ResponseEntity.ok(userService.getUserWithAuthorities(username));
     }
+
+    //전체 유저 목록 (user_id 기준 keyset 페이지네이션). 다음 페이지는 응답의 nextAfterId를 afterId로 넘긴다.
+    @GetMapping("/users")
+    @PreAuthorize("hasAnyRole('ADMIN')") //ADMIN 권한만 호출할 수 있는 API
+    public ResponseEntity<UserPageDto> getUsers(
+            @RequestParam(value = "afterId", defaultValue = "0") long afterId,
+            @RequestParam(value = "size", defaultValue = "100") int size) {
+        return ResponseEntity.ok(userListingService.getUsers(afterId, size));
+    }
+
+    //전체 유저와 권한을 JSON 배열로 내려받는 API. DB 커서에서 읽는 대로 응답에 쓴다.
+    @GetMapping(value = "/users/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN')") //ADMIN 권한만 호출할 수 있는 API
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(userListingService::exportUsers);
+    }
+
+    //username의 지금까지 발급된 토큰(Access Token, refresh token)을 모두 폐기하는 API
+    @PostMapping("/user/{username}/revoke")
+    @PreAuthorize("hasAnyRole('ADMIN')") //ADMIN 권한만 호출할 수 있는 API
+    public ResponseEntity<Void> revokeUserTokens(@PathVariable("username") String username) {
+        tokenRevocationService.revokeUser(username);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.jwttutorialinflearn.Dto;
+
+import com.example.jwttutorialinflearn.Audit.AuditEventType;
+import com.example.jwttutorialinflearn.Entity.AuditEvent;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuditEventDto {
+
+    private Long id;
+
+    private Instant eventTime;
+
+    private AuditEventType eventType;
+
+    private String username;
+
+    private String detail;
+
+    private String clientIp;
+
+    public static AuditEventDto from(AuditEvent auditEvent) {
+        if (auditEvent == null) return null;
+
+        return AuditEventDto.builder()
+                .id(auditEvent.getAuditEventId())
+                .eventTime(auditEvent.getEventTime())
+                .eventType(auditEvent.getEventType())
+                .username(auditEvent.getUsername())
+                .detail(auditEvent.getDetail())
+                .clientIp(auditEvent.getClientIp())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.jwttutorialinflearn.Dto;
+
+import lombok.*;
+
+import java.util.List;
+
+//감사 로그의 한 페이지 (최신순). 다음 페이지는 beforeId=nextBeforeId로 요청하고, 마지막 페이지이면 nextBeforeId가 null
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuditPageDto {
+
+    private List<AuditEventDto> events;
+
+    private Long nextBeforeId;
+}
@@ -0,0 +1,16 @@
+package com.example.jwttutorialinflearn.Dto;
+
+import lombok.*;
+
+import jakarta.validation.constraints.NotNull;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshRequestDto {
+
+    @NotNull
+    private String refreshToken;
+}
@@ -10,4 +10,6 @@ import lombok.*;
 public class TokenDto {
 
     private String token;
+
+    private String refreshToken;
 }
@@ -1,6 +1,8 @@
 package com.example.jwttutorialinflearn.Dto;
 
 import com.example.jwttutorialinflearn.Entity.User;
+import com.example.jwttutorialinflearn.Service.CachedUser;
+import com.example.jwttutorialinflearn.Service.CustomUserDetails;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
@@ -44,4 +46,29 @@ public class UserDto {
                         .collect(Collectors.toSet()))
                 .build();
     }
+
+    //토큰 클레임에서 만든 CustomUserDetails로 UserDto를 만든다. (DB 조회 없음)
+    public static UserDto from(CustomUserDetails user) {
+        if(user == null) return null;
+
+        return UserDto.builder()
+                .username(user.getUsername())
+                .nickname(user.getNickname())
+                .authorityDtoSet(user.getAuthorities().stream()
+                        .map(authority -> AuthorityDto.builder().authorityName(authority.getAuthority()).build())
+                        .collect(Collectors.toSet()))
+                .build();
+    }
+
+    public static UserDto from(CachedUser user) {
+        if(user == null) return null;
+
+        return UserDto.builder()
+                .username(user.getUsername())
+                .nickname(user.getNickname())
+                .authorityDtoSet(user.getAuthorities().stream()
+                        .map(authority -> AuthorityDto.builder().authorityName(authority.getAuthority()).build())
+                        .collect(Collectors.toSet()))
+                .build();
+    }
 }
\ No newline at end of file
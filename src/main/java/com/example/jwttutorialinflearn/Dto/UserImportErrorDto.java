@@ -0,0 +1,18 @@
+package com.example.jwttutorialinflearn.Dto;
+
+import lombok.*;
+
+//대량 가입에서 실패한 행 하나. line은 입력의 줄 번호(1부터)
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserImportErrorDto {
+
+    private long line;
+
+    private String username;
+
+    private String message;
+}
@@ -0,0 +1,24 @@
+package com.example.jwttutorialinflearn.Dto;
+
+import lombok.*;
+
+import java.util.List;
+
+//대량 가입 결과. errors는 최대 user-import.max-reported-errors개까지만 담고, 넘치면 errorsTruncated가 true
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserImportResultDto {
+
+    private long total;
+
+    private long imported;
+
+    private long failed;
+
+    private List<UserImportErrorDto> errors;
+
+    private boolean errorsTruncated;
+}
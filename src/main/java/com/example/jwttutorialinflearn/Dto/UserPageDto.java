@@ -0,0 +1,18 @@
+package com.example.jwttutorialinflearn.Dto;
+
+import lombok.*;
+
+import java.util.List;
+
+//유저 목록의 한 페이지. 다음 페이지는 afterId=nextAfterId로 요청하고, 마지막 페이지이면 nextAfterId가 null
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserPageDto {
+
+    private List<UserDto> users;
+
+    private Long nextAfterId;
+}
@@ -0,0 +1,42 @@
+package com.example.jwttutorialinflearn.Entity;
+
+import com.example.jwttutorialinflearn.Audit.AuditEventType;
+import lombok.*;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+//감사 로그 테이블. insert는 AuditLog가 JDBC 배치로 하고, 이 엔티티는 스키마 생성과 조회(/api/audit)에 사용한다.
+@Entity
+@Table(name = "audit_event", indexes = {
+        @Index(name = "idx_audit_event_username", columnList = "username"),
+        @Index(name = "idx_audit_event_type", columnList = "event_type"),
+        @Index(name = "idx_audit_event_time", columnList = "event_time")})
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuditEvent {
+
+    @Id
+    @Column(name = "audit_event_id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long auditEventId;
+
+    @Column(name = "event_time", nullable = false)
+    private Instant eventTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", length = 30, nullable = false)
+    private AuditEventType eventType;
+
+    @Column(name = "username", length = 50)
+    private String username;
+
+    @Column(name = "detail", length = 200)
+    private String detail;
+
+    @Column(name = "client_ip", length = 45)
+    private String clientIp;
+}
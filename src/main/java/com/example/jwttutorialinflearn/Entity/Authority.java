@@ -1,14 +1,22 @@
 package com.example.jwttutorialinflearn.Entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 
+//권한은 data.sql로만 만들어지고 바뀌지 않으므로 읽기 전용으로 2차 캐시에 둔다.
 @Entity
 @Table(name = "authority")
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 @Getter
 @Setter
 @Builder
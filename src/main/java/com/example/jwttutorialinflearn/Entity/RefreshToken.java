@@ -0,0 +1,45 @@
+package com.example.jwttutorialinflearn.Entity;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+//Refresh Token. 토큰 원문은 저장하지 않고 SHA-256 해시만 저장한다.
+//같은 로그인에서 이어지는 refresh token들은 같은 familyId를 가진다. (재사용 감지 시 family 전체를 폐기)
+@Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_token_user_id", columnList = "user_id"),
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @Column(name = "refresh_token_id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long refreshTokenId;
+
+    @Column(name = "token_hash", length = 64, nullable = false)
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "family_id", length = 36, nullable = false)
+    private String familyId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    //이미 새 토큰으로 교체된 토큰이면 true. 다시 들어오면 재사용으로 본다.
+    @Column(name = "used")
+    private boolean used;
+
+    @Column(name = "revoked")
+    private boolean revoked;
+}
@@ -0,0 +1,25 @@
+package com.example.jwttutorialinflearn.Entity;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+//jti 단위로 폐기된 Access Token
+@Entity
+@Table(name = "revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
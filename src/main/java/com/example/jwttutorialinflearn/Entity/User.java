@@ -2,10 +2,16 @@ package com.example.jwttutorialinflearn.Entity;
 
 import lombok.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Set;
 
+//로그인 조회(findOneWithAuthoritiesByUsername)를 쿼리 캐시 + 2차 캐시로 DB 없이 처리할 수 있도록 캐시한다.
+//유저 정보는 바뀔 수 있으므로(비밀번호 재해시 등) READ_WRITE로 캐시한다.
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @Builder
@@ -13,9 +19,12 @@ import java.util.Set;
 @NoArgsConstructor
 public class User {
 
+    //IDENTITY는 insert마다 키를 받아와야 해서 JDBC 배치가 꺼지므로 시퀀스를 사용한다.
+    //allocationSize만큼 키를 미리 받아두므로 시퀀스 조회도 50건에 한번이다. (data.sql의 유저는 1000 미만의 id를 사용)
     @Id
     @Column(name = "user_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", initialValue = 1000, allocationSize = 50)
     private Long userId;
 
     @Column(name = "username", length = 50, unique = true)
@@ -31,6 +40,7 @@ public class User {
     private boolean activated;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable( //테이블의 다대다 관계를 일대다, 다대일 관계의 조인 테이블로 정의했다는 의미
             name = "user_authority",
             joinColumns = {@JoinColumn(name = "user_id", referencedColumnName = "user_id")},
@@ -0,0 +1,29 @@
+package com.example.jwttutorialinflearn.Entity;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+//유저 단위 토큰 폐기. revokedBefore 이전에 발급된 해당 유저의 Access Token은 모두 폐기된 것으로 본다.
+//expiresAt(revokedBefore + Access Token 유효기간) 이후에는 해당되는 토큰이 모두 만료되므로 삭제해도 된다.
+@Entity
+@Table(name = "user_token_revocation", indexes = {
+        @Index(name = "idx_user_token_revocation_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserTokenRevocation {
+
+    @Id
+    @Column(name = "username", length = 50)
+    private String username;
+
+    @Column(name = "revoked_before", nullable = false)
+    private Instant revokedBefore;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,20 @@
+package com.example.jwttutorialinflearn.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException() {
+        super();
+    }
+    public InvalidRefreshTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+    public InvalidRefreshTokenException(Throwable cause) {
+        super(cause);
+    }
+}
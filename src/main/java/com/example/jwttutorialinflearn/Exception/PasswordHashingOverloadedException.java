@@ -0,0 +1,21 @@
+package com.example.jwttutorialinflearn.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+//비밀번호 해시 작업 큐가 가득 차서 요청을 바로 거절할 때 발생한다. 503으로 응답한다.
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingOverloadedException extends RuntimeException {
+    public PasswordHashingOverloadedException() {
+        super();
+    }
+    public PasswordHashingOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+    public PasswordHashingOverloadedException(Throwable cause) {
+        super(cause);
+    }
+}
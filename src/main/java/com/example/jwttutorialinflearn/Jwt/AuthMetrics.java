@@ -0,0 +1,122 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//인증 파이프라인의 Micrometer 지표. /actuator/metrics/auth.* 와 /actuator/auth 에서 볼 수 있다.
+//  auth.token.verify   : 서명 검증 + 파싱 시간 (jjwt parseClaimsJws)
+//  auth.token.claims   : 검증된 클레임 -> Authentication 객체 변환 시간
+//  auth.token.issue    : 토큰 발급(서명) 시간
+//  auth.token.failures : 검증 실패 수 (reason = expired, invalid_signature, malformed, unsupported, illegal, revoked)
+//  auth.filter         : JWT 필터에서 인증에 걸린 시간 (result = authenticated, rejected, anonymous)
+//  auth.user.lookup    : 로그인 시 유저 조회 시간 (캐시 포함)
+//  auth.token.cache.*  : 검증된 토큰 캐시 크기, 적중/미스/제거 수
+//BCrypt 시간은 BoundedPasswordEncoder의 auth.password.hash 이다.
+//요청마다 호출되므로 태그가 붙은 Timer, Counter는 모두 미리 만들어두고 재사용한다.
+@Component
+public class AuthMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer tokenVerifyTimer;
+    private final Timer claimsTimer;
+    private final Timer tokenIssueTimer;
+    private final Timer userLookupTimer;
+    private final Timer filterAuthenticatedTimer;
+    private final Timer filterRejectedTimer;
+    private final Timer filterAnonymousTimer;
+    private final Map<TokenStatus, Counter> failureCounters = new EnumMap<>(TokenStatus.class);
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.tokenVerifyTimer = Timer.builder("auth.token.verify")
+                .description("JWT 서명 검증 + 파싱 시간")
+                .register(meterRegistry);
+        this.claimsTimer = Timer.builder("auth.token.claims")
+                .description("클레임 -> Authentication 변환 시간")
+                .register(meterRegistry);
+        this.tokenIssueTimer = Timer.builder("auth.token.issue")
+                .description("JWT 발급 시간")
+                .register(meterRegistry);
+        this.userLookupTimer = Timer.builder("auth.user.lookup")
+                .description("로그인 시 유저 + 권한정보 조회 시간")
+                .register(meterRegistry);
+        this.filterAuthenticatedTimer = filterTimer("authenticated");
+        this.filterRejectedTimer = filterTimer("rejected");
+        this.filterAnonymousTimer = filterTimer("anonymous");
+        for (TokenStatus status : TokenStatus.values()) {
+            if (status != TokenStatus.VALID) {
+                failureCounters.put(status, Counter.builder("auth.token.failures")
+                        .description("JWT 검증 실패 수")
+                        .tag("reason", status.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry));
+            }
+        }
+    }
+
+    private Timer filterTimer(String result) {
+        return Timer.builder("auth.filter")
+                .description("JWT 필터의 인증 처리 시간")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public void recordTokenVerify(long nanos) {
+        tokenVerifyTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordClaims(long nanos) {
+        claimsTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTokenIssue(long nanos) {
+        tokenIssueTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordUserLookup(long nanos) {
+        userLookupTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFailure(TokenStatus status) {
+        Counter counter = failureCounters.get(status);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    //필터 한번의 인증 결과와 시간. result가 null이면 Bearer 토큰이 없는 요청이다.
+    //서명/만료 등의 실패는 TokenProvider에서 이미 셌으므로 여기서는 폐기된 토큰만 실패 수에 더한다.
+    public void recordFilter(TokenValidationResult result, long nanos) {
+        if (result == null) {
+            filterAnonymousTimer.record(nanos, TimeUnit.NANOSECONDS);
+        } else if (result.isValid()) {
+            filterAuthenticatedTimer.record(nanos, TimeUnit.NANOSECONDS);
+        } else {
+            filterRejectedTimer.record(nanos, TimeUnit.NANOSECONDS);
+            if (result.getStatus() == TokenStatus.REVOKED) {
+                recordFailure(TokenStatus.REVOKED);
+            }
+        }
+    }
+
+    //검증된 토큰 캐시의 통계를 지표로 등록한다.
+    public void bindTokenCache(VerifiedTokenCache tokenCache) {
+        Gauge.builder("auth.token.cache.size", tokenCache, VerifiedTokenCache::size)
+                .description("검증된 토큰 캐시 항목 수")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.token.cache.hits", tokenCache, VerifiedTokenCache::getHitCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.token.cache.misses", tokenCache, VerifiedTokenCache::getMissCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.token.cache.evictions", tokenCache, VerifiedTokenCache::getEvictionCount)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+//인증 파이프라인 지표(auth.*)를 한번에 보여주는 actuator 엔드포인트. GET /actuator/auth
+//지표 하나씩은 /actuator/metrics/auth.token.verify 처럼 조회할 수도 있다. 시간 단위는 초.
+@Component
+@Endpoint(id = "auth")
+public class AuthMetricsEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    public AuthMetricsEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Double>> authMetrics() {
+        Map<String, Map<String, Double>> result = new TreeMap<>();
+        for (Meter meter : meterRegistry.getMeters()) {
+            Meter.Id id = meter.getId();
+            if (!id.getName().startsWith("auth.")) {
+                continue;
+            }
+            Map<String, Double> values = new LinkedHashMap<>();
+            for (Measurement measurement : meter.measure()) {
+                values.put(measurement.getStatistic().getTagValueRepresentation(), measurement.getValue());
+            }
+            result.put(name(id), values);
+        }
+        return result;
+    }
+
+    //auth.token.failures{reason=expired} 형식
+    private static String name(Meter.Id id) {
+        if (id.getTags().isEmpty()) {
+            return id.getName();
+        }
+        return id.getTags().stream()
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .collect(Collectors.joining(",", id.getName() + "{", "}"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import com.example.jwttutorialinflearn.Util.Authorities;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//압축 토큰 형식과 권한 확인(PrecomputedRoleAuthorizationManager)에서 권한을 비트마스크로 바꾸기 위한 권한 목록. (jwt.compact.authorities)
+//목록에서의 순서가 비트 위치이므로 모든 노드가 같은 목록을 사용해야 하고, 새 권한은 뒤에만 추가해야 한다.
+//목록에 없는 비트는 무시한다. (목록이 짧은 노드에서는 모르는 권한이 빠질 뿐 권한이 늘어나지는 않는다)
+public final class AuthorityRegistry {
+
+    private static final int MAX_AUTHORITIES = Long.SIZE - 1;
+    //권한 조합 개수의 상한. (Authorities와 같은 이유)
+    private static final int MAX_CACHED_MASKS = 1024;
+
+    private final List<String> names;
+    private final Map<String, Integer> bits;
+    //비트마스크 -> 불변 권한 리스트
+    private final Map<Long, List<GrantedAuthority>> lists = new ConcurrentHashMap<>();
+
+    private AuthorityRegistry(List<String> names) {
+        if (names.size() > MAX_AUTHORITIES) {
+            throw new IllegalArgumentException("압축 토큰에는 권한을 " + MAX_AUTHORITIES + "개까지 등록할 수 있습니다.");
+        }
+        Map<String, Integer> bits = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            if (bits.putIfAbsent(names.get(i), i) != null) {
+                throw new IllegalArgumentException("중복된 권한입니다: " + names.get(i));
+            }
+        }
+        this.names = List.copyOf(names);
+        this.bits = Map.copyOf(bits);
+    }
+
+    //','로 구분된 권한 이름 목록으로 만든다.
+    public static AuthorityRegistry parse(String authorityNames) {
+        List<String> names = new ArrayList<>();
+        for (String name : authorityNames.split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.trim());
+            }
+        }
+        return new AuthorityRegistry(names);
+    }
+
+    //권한들을 비트마스크로 바꾼다. 목록에 없는 권한이 있으면 -1 (이 토큰은 기존 문자열 클레임을 사용해야 한다)
+    public long encode(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            Integer bit = bits.get(authority.getAuthority());
+            if (bit == null) {
+                return -1;
+            }
+            mask |= 1L << bit;
+        }
+        return mask;
+    }
+
+    //목록에 있는 권한만 비트마스크로 바꾼다. 목록에 없는 권한은 무시한다. (권한 확인용)
+    public long encodeKnown(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            Integer bit = bits.get(authority.getAuthority());
+            if (bit != null) {
+                mask |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    //권한 이름의 비트. 목록에 없으면 -1
+    public int bitOf(String authorityName) {
+        Integer bit = bits.get(authorityName);
+        return bit == null ? -1 : bit;
+    }
+
+    //비트마스크를 불변 권한 리스트로 바꾼다. 같은 마스크면 처음 만든 리스트를 재사용한다.
+    public List<GrantedAuthority> decode(long mask) {
+        List<GrantedAuthority> authorities = lists.get(mask);
+        if (authorities != null) {
+            return authorities;
+        }
+        List<GrantedAuthority> decoded = new ArrayList<>(Long.bitCount(mask));
+        for (int i = 0; i < names.size(); i++) {
+            if ((mask & (1L << i)) != 0) {
+                decoded.add(Authorities.of(names.get(i)));
+            }
+        }
+        authorities = List.copyOf(decoded);
+        if (lists.size() >= MAX_CACHED_MASKS) {
+            return authorities;
+        }
+        List<GrantedAuthority> previous = lists.putIfAbsent(mask, authorities);
+        return previous != null ? previous : authorities;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+//servlet(JwtFilter)과 reactive(ReactiveJwtFilter) 필터가 같이 사용하는 JWT 인증 로직.
+//Authorization 헤더에서 토큰을 꺼내고, TokenProvider로 검증한 뒤 폐기된 토큰인지 확인한다.
+//캐시에 있는 토큰은 헤더 값에서 토큰 부분을 잘라낸 문자열을 만들지 않고 바로 조회하므로 요청마다 객체가 생성되지 않는다.
+public class BearerTokenAuthenticator {
+
+    public static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenProvider tokenProvider;
+    private final TokenDenylist tokenDenylist;
+
+    public BearerTokenAuthenticator(TokenProvider tokenProvider, TokenDenylist tokenDenylist) {
+        this.tokenProvider = tokenProvider;
+        this.tokenDenylist = tokenDenylist;
+    }
+
+    //Authorization 헤더 값이 "Bearer 토큰" 형식인지 확인한다. 문자열을 새로 만들지 않는다.
+    public static boolean isBearer(String authorizationHeader) {
+        int prefixLength = BEARER_PREFIX.length();
+        return authorizationHeader != null
+                && authorizationHeader.length() > prefixLength
+                && authorizationHeader.regionMatches(0, BEARER_PREFIX, 0, prefixLength)
+                && !Character.isWhitespace(authorizationHeader.charAt(prefixLength));
+    }
+
+    //헤더의 토큰을 검증한다. 서명 검증과 파싱은 한번만 수행되고, 캐시에 있으면 생략된다.
+    //Bearer 토큰이 없으면 null, 폐기된 토큰이면 REVOKED 결과를 리턴한다.
+    public TokenValidationResult authenticate(String authorizationHeader) {
+        if (!isBearer(authorizationHeader)) {
+            return null;
+        }
+        TokenValidationResult cached = getCachedResult(authorizationHeader);
+        return cached != null ? cached : verify(authorizationHeader);
+    }
+
+    //캐시에 검증 결과가 있을 때만 리턴하고 없으면 null. 서명 검증을 하지 않으므로 이벤트 루프에서 호출해도 된다.
+    public TokenValidationResult getCachedResult(String authorizationHeader) {
+        TokenValidationResult cached = tokenProvider.getCachedResult(authorizationHeader, BEARER_PREFIX.length());
+        return cached != null ? checkRevoked(cached) : null;
+    }
+
+    //캐시를 거치지 않고 서명 검증을 수행한다. (CPU 작업)
+    //Bearer "토큰sfeosfjso" 식이기 때문에, 토큰은 7번째 인덱스부터 시작.
+    public TokenValidationResult verify(String authorizationHeader) {
+        return checkRevoked(tokenProvider.verifyAndAuthenticate(authorizationHeader.substring(BEARER_PREFIX.length())));
+    }
+
+    //서명이 정상이어도 폐기된 토큰이면 인증하지 않는다. (메모리에서만 확인)
+    private TokenValidationResult checkRevoked(TokenValidationResult result) {
+        if (result.isValid() && tokenDenylist.isRevoked(result.getClaims())) {
+            return TokenValidationResult.failure(TokenStatus.REVOKED);
+        }
+        return result;
+    }
+}
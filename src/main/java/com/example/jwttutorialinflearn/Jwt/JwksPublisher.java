@@ -0,0 +1,156 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//키 링의 공개키를 JWK Set(RFC 7517) JSON으로 만들어두는 컴포넌트. (/.well-known/jwks.json)
+//검증하는 서비스들이 주기적으로 가져가므로, JSON 바이트와 ETag를 미리 만들어두고
+//키 링의 버전(KeyRing.getVersion)이 바뀌었을 때만 다시 만든다. 요청마다 하는 일은 버전 비교 한번뿐이다.
+//HMAC 키는 secret 자체이므로 절대 공개하지 않는다. (HMAC만 사용하면 빈 키 목록이 나간다)
+@Component
+public class JwksPublisher {
+
+    public static final String PATH = "/.well-known/jwks.json";
+
+    private final TokenProvider tokenProvider;
+    private final ObjectMapper objectMapper;
+
+    private volatile Document document;
+
+    public JwksPublisher(TokenProvider tokenProvider, ObjectMapper objectMapper) {
+        this.tokenProvider = tokenProvider;
+        this.objectMapper = objectMapper;
+    }
+
+    //현재 키 링의 JWK Set. 키가 바뀐 뒤 처음 호출한 스레드 하나만 다시 만든다.
+    public Document getDocument() {
+        KeyRing keyRing = tokenProvider.getKeyRing();
+        Document current = document;
+        if (current != null && current.version == keyRing.getVersion()) {
+            return current;
+        }
+        synchronized (this) {
+            current = document;
+            long version = keyRing.getVersion();
+            if (current == null || current.version != version) {
+                current = build(keyRing.getKeys(), version);
+                document = current;
+            }
+            return current;
+        }
+    }
+
+    private Document build(Iterable<JwtKey> keys, long version) {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (JwtKey key : keys) {
+            Map<String, Object> jwk = toJwk(key);
+            if (jwk != null) {
+                jwks.add(jwk);
+            }
+        }
+        //키 순서가 바뀌어도 같은 내용이면 같은 ETag가 나오도록 kid 순으로 정렬한다.
+        jwks.sort(Comparator.comparing(jwk -> String.valueOf(jwk.get("kid"))));
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(Map.of("keys", jwks));
+            return new Document(body, etag(body), version);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("JWK Set을 만들 수 없습니다.", e);
+        }
+    }
+
+    //공개키만 JWK로 바꾼다. 공개할 수 없는 키(HMAC)면 null
+    private static Map<String, Object> toJwk(JwtKey key) {
+        Key verificationKey = key.getVerificationKey();
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if (verificationKey instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("kid", key.getKeyId());
+            jwk.put("use", "sig");
+            jwk.put("alg", key.getAlgorithm().getValue());
+            jwk.put("n", base64Url(rsa.getModulus(), 0));
+            jwk.put("e", base64Url(rsa.getPublicExponent(), 0));
+            return jwk;
+        }
+        if (verificationKey instanceof ECPublicKey ec) {
+            int fieldBytes = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("kid", key.getKeyId());
+            jwk.put("use", "sig");
+            jwk.put("alg", key.getAlgorithm().getValue());
+            jwk.put("crv", curveName(fieldBytes));
+            jwk.put("x", base64Url(ec.getW().getAffineX(), fieldBytes));
+            jwk.put("y", base64Url(ec.getW().getAffineY(), fieldBytes));
+            return jwk;
+        }
+        return null;
+    }
+
+    private static String curveName(int fieldBytes) {
+        return switch (fieldBytes) {
+            case 32 -> "P-256";
+            case 48 -> "P-384";
+            case 66 -> "P-521";
+            default -> throw new IllegalArgumentException("지원되지 않는 EC 곡선입니다. (" + fieldBytes * 8 + "bit)");
+        };
+    }
+
+    //부호 없는 big-endian 바이트의 Base64URL. length가 0보다 크면 앞을 0으로 채워서 그 길이로 맞춘다. (EC 좌표)
+    private static String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (length > bytes.length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    //본문의 SHA-256으로 만든 strong ETag. 같은 키 구성이면 모든 노드에서 같은 값이 나온다.
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static final class Document {
+        private final byte[] body;
+        private final String etag;
+        private final long version;
+
+        private Document(byte[] body, String etag, long version) {
+            this.body = body;
+            this.etag = etag;
+            this.version = version;
+        }
+
+        //공유되는 배열이므로 수정하면 안 된다.
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+//JWT로 인증된 Authentication. 토큰을 해석할 때 알려진 권한(AuthorityRegistry)을 비트마스크로 같이 계산해두어서
+//PrecomputedRoleAuthorizationManager가 권한 목록을 훑지 않고 비트 연산으로 권한을 확인할 수 있게 한다.
+//credentials는 기존과 같이 토큰 문자열이다. (로그아웃 시 폐기에 사용)
+public class JwtAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final long authorityMask;
+    //마스크를 계산한 권한 목록. 직렬화되면 사라지고, 그때는 권한 목록으로 다시 계산한다.
+    private final transient AuthorityRegistry authorityRegistry;
+
+    public JwtAuthenticationToken(Object principal, String token, Collection<? extends GrantedAuthority> authorities,
+                                  long authorityMask, AuthorityRegistry authorityRegistry) {
+        super(principal, token, authorities);
+        this.authorityMask = authorityMask;
+        this.authorityRegistry = authorityRegistry;
+    }
+
+    public long getAuthorityMask() {
+        return authorityMask;
+    }
+
+    public AuthorityRegistry getAuthorityRegistry() {
+        return authorityRegistry;
+    }
+}
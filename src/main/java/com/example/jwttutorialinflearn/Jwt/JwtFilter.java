@@ -1,10 +1,11 @@
 package com.example.jwttutorialinflearn.Jwt;
 
+import com.example.jwttutorialinflearn.Audit.AuditEventType;
+import com.example.jwttutorialinflearn.Audit.AuditLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.GenericFilterBean;
 
 import jakarta.servlet.FilterChain;
@@ -13,17 +14,27 @@ import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.util.Locale;
 
 public class JwtFilter extends GenericFilterBean {
     //GenericFilterBean을 extends
 
     private static final Logger logger = LoggerFactory.getLogger(JwtFilter.class);
     public static final String AUTHORIZATION_HEADER = "Authorization";
-    private TokenProvider tokenProvider;
+    private final BearerTokenAuthenticator authenticator;
+    private final AuthMetrics authMetrics;
+    //토큰 인증 실패를 남기는 감사 로그. null이면 남기지 않는다.
+    private final AuditLog auditLog;
 
-    //JwtFilter는 TokenProvider를 주입받는다.
-    public JwtFilter(TokenProvider tokenProvider) {
-        this.tokenProvider = tokenProvider;
+    //JwtFilter는 TokenProvider와 폐기된 토큰 목록, 인증 지표를 주입받는다.
+    public JwtFilter(TokenProvider tokenProvider, TokenDenylist tokenDenylist, AuthMetrics authMetrics) {
+        this(tokenProvider, tokenDenylist, authMetrics, null);
+    }
+
+    public JwtFilter(TokenProvider tokenProvider, TokenDenylist tokenDenylist, AuthMetrics authMetrics, AuditLog auditLog) {
+        this.authenticator = new BearerTokenAuthenticator(tokenProvider, tokenDenylist);
+        this.authMetrics = authMetrics;
+        this.auditLog = auditLog;
     }
 
 
@@ -32,33 +43,39 @@ public class JwtFilter extends GenericFilterBean {
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
-        //resolveToken으로 토큰을 받아온다.
-        String jwt = resolveToken(httpServletRequest);
-        String requestURI = httpServletRequest.getRequestURI(); //요청한 API URL
+        //공개키 경로는 인증이 필요 없고 요청이 많으므로 토큰을 보지 않고 통과시킨다. (지표에도 넣지 않는다)
+        if (JwksPublisher.PATH.equals(httpServletRequest.getServletPath())) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+        long start = System.nanoTime();
 
-        //이 토큰의 유효성 검증을 한다.
-        if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-            //토큰이 정상적이면 토큰에서 Authentication 객체를 받아와서 SecurityContext에 저장해줌.
-            Authentication authentication = tokenProvider.getAuthentication(jwt);
+        //Authorization 헤더의 토큰을 검증하고 폐기 여부를 확인한다. (reactive 필터와 같은 로직)
+        //캐시에 있는 토큰이면 헤더에서 토큰을 잘라내지 않고 캐시된 Authentication 객체를 그대로 사용한다.
+        TokenValidationResult result = authenticator.authenticate(httpServletRequest.getHeader(AUTHORIZATION_HEADER));
+        if (result != null && result.isValid()) {
+            //토큰이 정상적이면 Authentication 객체를 SecurityContext에 저장해줌.
+            Authentication authentication = result.getAuthentication();
             SecurityContextHolder.getContext().setAuthentication(authentication);
-            logger.debug("Security Context에 '{}' 인증 정보를 저장했습니다, uri: {}", authentication.getName(), requestURI);
+            //요청마다 남는 로그이므로 TRACE로 남긴다. (실패 사유별 개수는 auth.token.failures 지표로 본다)
+            if (logger.isTraceEnabled()) {
+                logger.trace("Security Context에 '{}' 인증 정보를 저장했습니다, uri: {}",
+                        authentication.getName(), httpServletRequest.getRequestURI());
+            }
         } else {
-            logger.debug("유효한 JWT 토큰이 없습니다, uri: {}", requestURI);
+            if (logger.isTraceEnabled()) {
+                logger.trace("유효한 JWT 토큰이 없습니다({}), uri: {}",
+                        result == null ? "토큰 없음" : result.getStatus(), httpServletRequest.getRequestURI());
+            }
+            //토큰이 있었는데 검증에 실패한 요청만 남긴다. (DB에 접근하지 않고 버퍼에 넣기만 하며, IP별 한도를 넘으면 세기만 한다)
+            //요청 스레드의 비용은 AuditLogBenchmark.recordTokenFailure로 측정한다.
+            if (result != null && auditLog != null) {
+                auditLog.record(AuditEventType.TOKEN_FAILURE, null,
+                        result.getStatus().name().toLowerCase(Locale.ROOT), httpServletRequest.getRemoteAddr());
+            }
         }
+        authMetrics.recordFilter(result, System.nanoTime() - start);
 
         filterChain.doFilter(servletRequest, servletResponse);
     }
-
-    //필터링을 하기 위해서 토큰 정보가 필요.
-    //Request Header에서 토큰 정보를 꺼내오기 위한 메소드
-    private String resolveToken(HttpServletRequest request) {
-        String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
-
-        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            //Bearer "토큰sfeosfjso" 식이기 때문에, 토큰은 7번째 인덱스부터 시작.
-            return bearerToken.substring(7);
-        }
-
-        return null;
-    }
-}
\ No newline at end of file
+}
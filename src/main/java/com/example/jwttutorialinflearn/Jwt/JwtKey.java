@@ -0,0 +1,58 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.Key;
+
+//서명 알고리즘과 서명/검증에 쓰는 키를 묶어둔 불변 객체.
+//HMAC은 서명키와 검증키가 같고, 비대칭키는 개인키로 서명하고 공개키로 검증한다.
+//개인키 없이 공개키만 있으면 검증 전용 키가 된다. keyId는 토큰 헤더의 kid 값이다.
+public final class JwtKey {
+    private final String keyId;
+    private final SignatureAlgorithm algorithm;
+    private final Key signingKey;
+    private final Key verificationKey;
+
+    public JwtKey(SignatureAlgorithm algorithm, Key signingKey, Key verificationKey) {
+        this(null, algorithm, signingKey, verificationKey);
+    }
+
+    public JwtKey(String keyId, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey) {
+        if (verificationKey == null) {
+            throw new IllegalArgumentException(algorithm + " 검증키가 없습니다.");
+        }
+        this.keyId = keyId;
+        this.algorithm = algorithm;
+        this.signingKey = signingKey;
+        this.verificationKey = verificationKey;
+    }
+
+    public JwtKey withKeyId(String keyId) {
+        return new JwtKey(keyId, algorithm, signingKey, verificationKey);
+    }
+
+    //개인키는 버리고 공개키만 남긴 검증 전용 키
+    public JwtKey verifyOnly() {
+        return signingKey == null ? this : new JwtKey(keyId, algorithm, null, verificationKey);
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    public Key getVerificationKey() {
+        return verificationKey;
+    }
+
+    public boolean canSign() {
+        return signingKey != null;
+    }
+}
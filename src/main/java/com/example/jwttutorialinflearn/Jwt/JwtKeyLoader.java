@@ -0,0 +1,192 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.*;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//설정값(jwt.algorithm, jwt.secret, jwt.key-location)으로 JwtKey를 만드는 유틸리티.
+//애플리케이션 시작 시 한번만 호출되고, 만들어진 키는 TokenProvider가 재사용한다.
+public final class JwtKeyLoader {
+
+    private static final Pattern PEM_BLOCK =
+            Pattern.compile("-----BEGIN ([A-Z ]+)-----([A-Za-z0-9+/=\\s]+)-----END \\1-----");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private JwtKeyLoader() {}
+
+    //알고리즘 이름을 SignatureAlgorithm으로 바꾼다. none은 허용하지 않는다.
+    public static SignatureAlgorithm parseAlgorithm(String name) {
+        if ("EdDSA".equalsIgnoreCase(name) || "Ed25519".equalsIgnoreCase(name)) {
+            throw new IllegalArgumentException("EdDSA는 현재 사용중인 jjwt 0.11.x에서 지원되지 않습니다.");
+        }
+        SignatureAlgorithm algorithm;
+        try {
+            algorithm = SignatureAlgorithm.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원되지 않는 JWT 서명 알고리즘입니다: " + name, e);
+        }
+        if (algorithm == SignatureAlgorithm.NONE) {
+            throw new IllegalArgumentException("서명하지 않는 JWT(none)는 사용할 수 없습니다.");
+        }
+        return algorithm;
+    }
+
+    //HMAC이면서 키 파일이 없으면 Base64 secret을, 그 외에는 키 파일(PEM 또는 JWK)을 사용한다.
+    public static JwtKey load(SignatureAlgorithm algorithm, String base64Secret, String keyLocation) {
+        if (keyLocation != null && !keyLocation.isBlank()) {
+            return fromFile(algorithm, Path.of(keyLocation.trim()));
+        }
+        if (!algorithm.isHmac()) {
+            throw new IllegalArgumentException(algorithm + " 알고리즘은 jwt.key-location에 키 파일이 필요합니다.");
+        }
+        return fromSecret(algorithm, base64Secret);
+    }
+
+    public static JwtKey fromSecret(SignatureAlgorithm algorithm, String base64Secret) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        return new JwtKey(algorithm, key, key);
+    }
+
+    public static JwtKey fromFile(SignatureAlgorithm algorithm, Path path) {
+        String content;
+        try {
+            content = Files.readString(path);
+        } catch (IOException e) {
+            throw new IllegalStateException("JWT 키 파일을 읽을 수 없습니다: " + path, e);
+        }
+        try {
+            return content.trim().startsWith("{") ? fromJwk(algorithm, content) : fromPem(algorithm, content);
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("JWT 키 파일을 해석할 수 없습니다: " + path, e);
+        }
+    }
+
+    //PKCS#8 "PRIVATE KEY"와 X.509 "PUBLIC KEY" 블록을 읽는다. 둘 중 하나만 있어도 된다.
+    public static JwtKey fromPem(SignatureAlgorithm algorithm, String pem) throws GeneralSecurityException {
+        if (algorithm.isHmac()) {
+            throw new IllegalArgumentException("HMAC 키는 PEM이 아니라 jwt.secret 또는 JWK(oct)로 설정해야 합니다.");
+        }
+        KeyFactory keyFactory = KeyFactory.getInstance(keyFactoryAlgorithm(algorithm));
+        PrivateKey privateKey = null;
+        PublicKey publicKey = null;
+
+        Matcher matcher = PEM_BLOCK.matcher(pem);
+        while (matcher.find()) {
+            byte[] der = Base64.getMimeDecoder().decode(matcher.group(2));
+            switch (matcher.group(1)) {
+                case "PRIVATE KEY" -> privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(der));
+                case "PUBLIC KEY" -> publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(der));
+                default -> throw new IllegalArgumentException(matcher.group(1)
+                        + " 형식은 지원되지 않습니다. openssl pkcs8 -topk8 -nocrypt 로 PKCS#8로 변환해주세요.");
+            }
+        }
+
+        if (publicKey == null && privateKey instanceof RSAPrivateCrtKey crtKey) {
+            //RSA 개인키에는 공개키 정보(modulus, publicExponent)가 들어있으므로 공개키를 만들 수 있다.
+            publicKey = keyFactory.generatePublic(new RSAPublicKeySpec(crtKey.getModulus(), crtKey.getPublicExponent()));
+        }
+        if (publicKey == null) {
+            throw new IllegalArgumentException("PEM에서 " + algorithm + " 공개키를 찾을 수 없습니다.");
+        }
+        return new JwtKey(algorithm, privateKey, publicKey);
+    }
+
+    //RFC 7517 JWK(kty: oct, RSA, EC)를 읽는다. 개인키 값(d)이 없으면 검증 전용 키가 된다.
+    //JWK에 alg 값이 있으면 설정된 알고리즘 대신 그 값을 사용한다.
+    public static JwtKey fromJwk(SignatureAlgorithm algorithm, String json) throws GeneralSecurityException, IOException {
+        JsonNode jwk = OBJECT_MAPPER.readTree(json);
+        if (jwk.hasNonNull("alg")) {
+            algorithm = parseAlgorithm(jwk.get("alg").asText());
+        }
+        String keyType = text(jwk, "kty");
+        switch (keyType) {
+            case "oct" -> {
+                if (!algorithm.isHmac()) {
+                    throw new IllegalArgumentException("oct JWK는 HMAC 알고리즘에만 사용할 수 있습니다.");
+                }
+                SecretKey key = Keys.hmacShaKeyFor(decode(jwk, "k"));
+                return new JwtKey(algorithm, key, key);
+            }
+            case "RSA" -> {
+                KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+                PublicKey publicKey = keyFactory.generatePublic(new RSAPublicKeySpec(integer(jwk, "n"), integer(jwk, "e")));
+                PrivateKey privateKey = null;
+                if (jwk.hasNonNull("d")) {
+                    KeySpec spec = jwk.hasNonNull("p")
+                            ? new RSAPrivateCrtKeySpec(integer(jwk, "n"), integer(jwk, "e"), integer(jwk, "d"),
+                                    integer(jwk, "p"), integer(jwk, "q"), integer(jwk, "dp"), integer(jwk, "dq"), integer(jwk, "qi"))
+                            : new RSAPrivateKeySpec(integer(jwk, "n"), integer(jwk, "d"));
+                    privateKey = keyFactory.generatePrivate(spec);
+                }
+                return new JwtKey(algorithm, privateKey, publicKey);
+            }
+            case "EC" -> {
+                AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec(curveName(text(jwk, "crv"))));
+                ECParameterSpec curve = parameters.getParameterSpec(ECParameterSpec.class);
+
+                KeyFactory keyFactory = KeyFactory.getInstance("EC");
+                ECPoint point = new ECPoint(integer(jwk, "x"), integer(jwk, "y"));
+                PublicKey publicKey = keyFactory.generatePublic(new ECPublicKeySpec(point, curve));
+                PrivateKey privateKey = jwk.hasNonNull("d")
+                        ? keyFactory.generatePrivate(new ECPrivateKeySpec(integer(jwk, "d"), curve))
+                        : null;
+                return new JwtKey(algorithm, privateKey, publicKey);
+            }
+            default -> throw new IllegalArgumentException("지원되지 않는 JWK kty입니다: " + keyType);
+        }
+    }
+
+    static String keyFactoryAlgorithm(SignatureAlgorithm algorithm) {
+        if (algorithm.isRsa()) {
+            return "RSA";
+        }
+        if (algorithm.isEllipticCurve()) {
+            return "EC";
+        }
+        throw new IllegalArgumentException(algorithm + "는 비대칭키 알고리즘이 아닙니다.");
+    }
+
+    private static String curveName(String crv) {
+        return switch (crv) {
+            case "P-256" -> "secp256r1";
+            case "P-384" -> "secp384r1";
+            case "P-521" -> "secp521r1";
+            default -> throw new IllegalArgumentException("지원되지 않는 EC 곡선입니다: " + crv);
+        };
+    }
+
+    private static String text(JsonNode jwk, String name) {
+        JsonNode node = jwk.get(name);
+        if (node == null || !node.isTextual()) {
+            throw new IllegalArgumentException("JWK에 '" + name + "' 값이 없습니다.");
+        }
+        return node.asText();
+    }
+
+    private static byte[] decode(JsonNode jwk, String name) {
+        return Base64.getUrlDecoder().decode(text(jwk, name));
+    }
+
+    private static BigInteger integer(JsonNode jwk, String name) {
+        return new BigInteger(1, decode(jwk, name));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.jwttutorialinflearn.Jwt;
 
+import com.example.jwttutorialinflearn.Audit.AuditLog;
 import org.springframework.security.config.annotation.SecurityConfigurerAdapter;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.DefaultSecurityFilterChain;
@@ -8,16 +9,23 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class JwtSecurityConfig extends SecurityConfigurerAdapter<DefaultSecurityFilterChain, HttpSecurity> {
     //SecurityConfigurerAdapter를 extends하고,
     private final TokenProvider tokenProvider;
-    //TokenProvider를 주입받아서,
-    public JwtSecurityConfig(TokenProvider tokenProvider) {
+    private final TokenDenylist tokenDenylist;
+    private final AuthMetrics authMetrics;
+    private final AuditLog auditLog;
+    //TokenProvider, TokenDenylist, AuthMetrics, AuditLog를 주입받아서,
+    public JwtSecurityConfig(TokenProvider tokenProvider, TokenDenylist tokenDenylist, AuthMetrics authMetrics,
+                             AuditLog auditLog) {
         this.tokenProvider = tokenProvider;
+        this.tokenDenylist = tokenDenylist;
+        this.authMetrics = authMetrics;
+        this.auditLog = auditLog;
     }
 
     //JwtFilter를 Security 로직에 필터로 등록한다.
     @Override
     public void configure(HttpSecurity http) {
         http.addFilterBefore(
-                new JwtFilter(tokenProvider),
+                new JwtFilter(tokenProvider, tokenDenylist, authMetrics, auditLog),
                 UsernamePasswordAuthenticationFilter.class
         );
     }
@@ -0,0 +1,285 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+//kid로 서명키를 찾는 키 링.
+//조회는 volatile 스냅샷(불변 HashMap)만 읽기 때문에 락이 없고, 갱신은 리로드 스레드 하나에서만 일어난다.
+//
+//디렉토리 모드에서는 디렉토리 안의 파일 하나가 키 하나이고, 파일 이름(확장자 제외)이 kid가 된다.
+//  <kid>.pem : PKCS#8 개인키 / X.509 공개키
+//  <kid>.jwk, <kid>.json : JWK
+//  <kid>.key : Base64 HMAC secret
+//  active : 서명에 사용할 kid (없으면 개인키가 있는 kid 중 이름이 가장 큰 것)
+//디렉토리에서 지워진 키는 마지막으로 서명에 쓰인 시점부터 토큰 유효기간 동안 검증 전용으로 남아있다가 제거된다.
+public class KeyRing extends SigningKeyResolverAdapter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyRing.class);
+    private static final String ACTIVE_FILE = "active";
+
+    private final Path directory;
+    private final SignatureAlgorithm defaultAlgorithm;
+    //kid가 없는 토큰(키 링 도입 이전에 발급된 토큰)을 검증할 키의 kid
+    private final String legacyKeyId;
+    private final long retentionMillis;
+
+    private volatile Snapshot snapshot;
+
+    //아래 필드들은 reload()에서만 사용한다.
+    private String lastFingerprint;
+    private Map<String, JwtKey> sourceKeys = Map.of();
+    private String sourceActiveKeyId;
+    private final Map<String, Long> lastActiveAt = new HashMap<>();
+    private ScheduledExecutorService reloader;
+
+    private KeyRing(Path directory, SignatureAlgorithm defaultAlgorithm, String legacyKeyId, long retentionMillis) {
+        this.directory = directory;
+        this.defaultAlgorithm = defaultAlgorithm;
+        this.legacyKeyId = legacyKeyId;
+        this.retentionMillis = retentionMillis;
+    }
+
+    //키 하나로만 이루어진 고정 키 링
+    public static KeyRing of(JwtKey key) {
+        KeyRing keyRing = new KeyRing(null, key.getAlgorithm(), key.getKeyId(), 0);
+        keyRing.snapshot = new Snapshot(Map.of(key.getKeyId(), key), key, 1);
+        return keyRing;
+    }
+
+    //디렉토리에서 키들을 읽어오는 키 링. 처음 읽을 때 문제가 있으면 예외가 발생한다.
+    public static KeyRing fromDirectory(Path directory, SignatureAlgorithm defaultAlgorithm,
+                                        String legacyKeyId, long retentionMillis) {
+        KeyRing keyRing = new KeyRing(directory, defaultAlgorithm, legacyKeyId, retentionMillis);
+        keyRing.reload();
+        if (keyRing.snapshot.keys.isEmpty()) {
+            throw new IllegalStateException("키 링 디렉토리에 키가 없습니다: " + directory);
+        }
+        return keyRing;
+    }
+
+    //JwtParser가 토큰 헤더의 kid로 검증키를 찾을 때 호출한다.
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String keyId = header.getKeyId() != null ? header.getKeyId() : legacyKeyId;
+        JwtKey key = snapshot.keys.get(keyId);
+        if (key == null) {
+            throw new SignatureException("알 수 없는 kid 입니다: " + keyId);
+        }
+        //헤더의 alg를 바꿔서 다른 알고리즘으로 검증하게 만드는 것을 막는다.
+        if (!key.getAlgorithm().getValue().equals(header.getAlgorithm())) {
+            throw new SignatureException("kid " + keyId + "의 알고리즘과 헤더의 alg가 다릅니다.");
+        }
+        return key.getVerificationKey();
+    }
+
+    //토큰 발급에 사용할 키. 서명 가능한 키가 없으면 null
+    public JwtKey getSigningKey() {
+        return snapshot.active;
+    }
+
+    public JwtKey findKey(String keyId) {
+        return snapshot.keys.get(keyId);
+    }
+
+    public Collection<JwtKey> getKeys() {
+        return snapshot.keys.values();
+    }
+
+    //키 구성이 바뀔 때마다 증가한다.
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    //디렉토리를 주기적으로 다시 읽는다. 고정 키 링에서는 아무것도 하지 않는다.
+    public synchronized void startReloading(long intervalSeconds) {
+        if (directory == null || reloader != null || intervalSeconds <= 0) {
+            return;
+        }
+        reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwt-key-ring-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reloader.scheduleWithFixedDelay(() -> {
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                logger.warn("JWT 키 링을 다시 읽지 못했습니다. 기존 키를 계속 사용합니다.", e);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+            reloader = null;
+        }
+    }
+
+    //디렉토리가 바뀌었으면 다시 읽고, 보존기간이 지난 폐기 키를 정리한 뒤 새 스냅샷을 게시한다.
+    public synchronized void reload() {
+        if (directory == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String fingerprint = fingerprint();
+        if (!fingerprint.equals(lastFingerprint)) {
+            readDirectory();
+            lastFingerprint = fingerprint;
+        }
+
+        Snapshot current = snapshot;
+        JwtKey active = sourceActiveKeyId != null ? sourceKeys.get(sourceActiveKeyId) : null;
+        if (current != null && current.active != null
+                && (active == null || !current.active.getKeyId().equals(active.getKeyId()))) {
+            //이전 서명키가 교체되었다. 이 키로 발급된 마지막 토큰은 지금부터 유효기간 뒤에 만료된다.
+            lastActiveAt.put(current.active.getKeyId(), now);
+        }
+
+        Map<String, JwtKey> keys = new HashMap<>(sourceKeys);
+        if (current != null) {
+            for (JwtKey retired : current.keys.values()) {
+                String keyId = retired.getKeyId();
+                if (keys.containsKey(keyId)) {
+                    continue;
+                }
+                long retainUntil = lastActiveAt.computeIfAbsent(keyId, k -> now) + retentionMillis;
+                if (now < retainUntil) {
+                    keys.put(keyId, retired.verifyOnly());
+                } else {
+                    lastActiveAt.remove(keyId);
+                    logger.info("보존기간이 지난 JWT 키를 제거했습니다. kid: {}", keyId);
+                }
+            }
+        }
+
+        if (current == null || active != current.active || !sameKeys(keys, current.keys)) {
+            snapshot = new Snapshot(Map.copyOf(keys), active, current == null ? 1 : current.version + 1);
+            logger.info("JWT 키 링을 갱신했습니다. 서명 kid: {}, 전체 kid: {}",
+                    active == null ? "없음" : active.getKeyId(), new TreeSet<>(keys.keySet()));
+        }
+    }
+
+    private static boolean sameKeys(Map<String, JwtKey> a, Map<String, JwtKey> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (Map.Entry<String, JwtKey> entry : a.entrySet()) {
+            JwtKey other = b.get(entry.getKey());
+            if (other == null || other.getVerificationKey() != entry.getValue().getVerificationKey()
+                    || other.canSign() != entry.getValue().canSign()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void readDirectory() {
+        Map<String, JwtKey> keys = new HashMap<>();
+        String activeKeyId = null;
+        for (Path file : listFiles()) {
+            String fileName = file.getFileName().toString();
+            try {
+                if (fileName.equals(ACTIVE_FILE)) {
+                    activeKeyId = Files.readString(file).trim();
+                    continue;
+                }
+                int dot = fileName.lastIndexOf('.');
+                if (dot <= 0) {
+                    continue;
+                }
+                String keyId = fileName.substring(0, dot);
+                JwtKey key = readKey(fileName.substring(dot + 1), Files.readString(file));
+                if (key != null) {
+                    keys.put(keyId, key.withKeyId(keyId));
+                }
+            } catch (IOException | GeneralSecurityException | RuntimeException e) {
+                if (snapshot == null) {
+                    throw new IllegalStateException("JWT 키 파일을 읽을 수 없습니다: " + file, e);
+                }
+                //읽다 실패한 키는 이전에 읽었던 값을 그대로 사용한다.
+                String keyId = fileName.contains(".") ? fileName.substring(0, fileName.lastIndexOf('.')) : fileName;
+                JwtKey previous = sourceKeys.get(keyId);
+                if (previous != null) {
+                    keys.put(keyId, previous);
+                }
+                logger.warn("JWT 키 파일을 읽을 수 없습니다: {}", file, e);
+            }
+        }
+
+        if (activeKeyId == null) {
+            activeKeyId = keys.values().stream()
+                    .filter(JwtKey::canSign)
+                    .map(JwtKey::getKeyId)
+                    .max(Comparator.naturalOrder())
+                    .orElse(null);
+        } else if (keys.get(activeKeyId) == null || !keys.get(activeKeyId).canSign()) {
+            logger.warn("active 파일의 kid '{}'로 서명할 수 있는 키가 없습니다.", activeKeyId);
+            activeKeyId = null;
+        }
+        this.sourceKeys = keys;
+        this.sourceActiveKeyId = activeKeyId;
+    }
+
+    private JwtKey readKey(String extension, String content) throws GeneralSecurityException, IOException {
+        return switch (extension) {
+            case "pem" -> JwtKeyLoader.fromPem(defaultAlgorithm, content);
+            case "jwk", "json" -> JwtKeyLoader.fromJwk(defaultAlgorithm, content);
+            case "key" -> JwtKeyLoader.fromSecret(defaultAlgorithm.isHmac() ? defaultAlgorithm : SignatureAlgorithm.HS512,
+                    content.trim());
+            default -> null;
+        };
+    }
+
+    //파일 이름, 크기, 수정시각으로 디렉토리 변경 여부를 판단한다.
+    private String fingerprint() {
+        StringBuilder builder = new StringBuilder();
+        for (Path file : listFiles()) {
+            try {
+                builder.append(file.getFileName()).append(':')
+                        .append(Files.size(file)).append(':')
+                        .append(Files.getLastModifiedTime(file).toMillis()).append(';');
+            } catch (IOException e) {
+                builder.append(file.getFileName()).append(":?;");
+            }
+        }
+        return builder.toString();
+    }
+
+    private List<Path> listFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile).sorted().toList();
+        } catch (IOException e) {
+            throw new IllegalStateException("JWT 키 링 디렉토리를 읽을 수 없습니다: " + directory, e);
+        }
+    }
+
+    private static final class Snapshot {
+        private final Map<String, JwtKey> keys;
+        private final JwtKey active;
+        private final long version;
+
+        private Snapshot(Map<String, JwtKey> keys, JwtKey active, long version) {
+            this.keys = keys;
+            this.active = active;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//@PreAuthorize의 단순한 권한 확인(hasRole, hasAnyRole, hasAuthority, hasAnyAuthority)을 메소드마다 한번만 해석해서
+//비트마스크 비교로 처리하는 AuthorizationManager. 요청마다 SpEL 평가와 권한 목록 순회를 하지 않는다.
+//  - 필요한 권한: 메소드를 처음 호출할 때 표현식을 비트마스크로 바꿔서 캐시한다.
+//  - 가진 권한: JwtAuthenticationToken이면 토큰을 해석할 때 계산해둔 마스크를, 아니면 권한 목록으로 계산한 마스크를 사용한다.
+//그 외 표현식(#username == principal.username, @bean 참조, and/or 등)이나 목록에 없는 권한은 기존 SpEL 평가(delegate)로 처리한다.
+//RoleHierarchy와 "ROLE_" 이외의 role prefix는 반영하지 않는다. (그런 설정이 있으면 MethodSecurityConfig가 이 매니저를 쓰지 않는다)
+public final class PrecomputedRoleAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final Pattern SIMPLE_CHECK = Pattern.compile("^\\s*has(Any)?(Role|Authority)\\s*\\((.*)\\)\\s*$");
+    //SpEL 문자열 리터럴. 작은따옴표와 큰따옴표 모두 허용한다.
+    private static final Pattern QUOTED = Pattern.compile("\\s*(['\"])([^'\"]*)\\1\\s*");
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+    //SpEL로 평가해야 하는 메소드 표시
+    private static final long DELEGATE = 0;
+
+    //TokenProvider가 토큰의 권한 마스크를 만들 때 쓰는 것과 같은 인스턴스. 처음 권한을 확인할 때 가져온다.
+    private final Supplier<AuthorityRegistry> authorityRegistrySupplier;
+    private volatile AuthorityRegistry authorityRegistry;
+    private final AuthorizationManager<MethodInvocation> delegate;
+    //메소드 -> 필요한 권한 마스크 (하나라도 있으면 허용). DELEGATE이면 delegate로 평가한다.
+    private final Map<Method, Long> requiredMasks = new ConcurrentHashMap<>();
+
+    public PrecomputedRoleAuthorizationManager(AuthorityRegistry authorityRegistry,
+                                               AuthorizationManager<MethodInvocation> delegate) {
+        this(() -> authorityRegistry, delegate);
+    }
+
+    //메소드 보안 인터셉터는 TokenProvider보다 먼저 만들어지므로 권한 목록은 나중에 가져온다.
+    public PrecomputedRoleAuthorizationManager(Supplier<AuthorityRegistry> authorityRegistrySupplier,
+                                               AuthorizationManager<MethodInvocation> delegate) {
+        this.authorityRegistrySupplier = authorityRegistrySupplier;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Long required = requiredMasks.get(invocation.getMethod());
+        if (required == null) {
+            required = requiredMasks.computeIfAbsent(invocation.getMethod(), method -> compile(method, invocation.getThis()));
+        }
+        if (required == DELEGATE) {
+            return delegate.check(authentication, invocation);
+        }
+        return (authorityMask(authentication.get()) & required) != 0 ? GRANTED : DENIED;
+    }
+
+    private long authorityMask(Authentication authentication) {
+        if (authentication == null) {
+            return 0;
+        }
+        AuthorityRegistry registry = authorityRegistry();
+        //같은 인스턴스로 만든 마스크만 그대로 사용한다. (비트 배치가 같다는 것이 보장된다)
+        if (authentication instanceof JwtAuthenticationToken token && token.getAuthorityRegistry() == registry) {
+            return token.getAuthorityMask();
+        }
+        return registry.encodeKnown(authentication.getAuthorities());
+    }
+
+    private AuthorityRegistry authorityRegistry() {
+        AuthorityRegistry registry = authorityRegistry;
+        if (registry == null) {
+            registry = authorityRegistrySupplier.get();
+            authorityRegistry = registry;
+        }
+        return registry;
+    }
+
+    //메소드(없으면 클래스)의 @PreAuthorize 표현식을 필요한 권한 마스크로 바꾼다. 바꿀 수 없으면 DELEGATE
+    private long compile(Method method, Object target) {
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass();
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        PreAuthorize preAuthorize = AnnotatedElementUtils.findMergedAnnotation(specificMethod, PreAuthorize.class);
+        if (preAuthorize == null) {
+            preAuthorize = AnnotatedElementUtils.findMergedAnnotation(targetClass, PreAuthorize.class);
+        }
+        return preAuthorize == null ? DELEGATE : compile(preAuthorize.value());
+    }
+
+    static long compile(AuthorityRegistry authorityRegistry, String expression) {
+        Matcher matcher = SIMPLE_CHECK.matcher(expression);
+        if (!matcher.matches()) {
+            return DELEGATE;
+        }
+        boolean any = matcher.group(1) != null;
+        boolean role = matcher.group(2).equals("Role");
+        String[] arguments = matcher.group(3).split(",", -1);
+        if (!any && arguments.length != 1) {
+            return DELEGATE;
+        }
+
+        long mask = 0;
+        for (String argument : arguments) {
+            Matcher quoted = QUOTED.matcher(argument);
+            if (!quoted.matches()) {
+                return DELEGATE;
+            }
+            String name = quoted.group(2);
+            //hasRole('ROLE_X')는 Spring Security에서 예외이므로 SpEL이 그대로 처리하게 둔다.
+            if (role && name.startsWith(ROLE_PREFIX)) {
+                return DELEGATE;
+            }
+            int bit = authorityRegistry.bitOf(role ? ROLE_PREFIX + name : name);
+            if (bit < 0) {
+                return DELEGATE;
+            }
+            mask |= 1L << bit;
+        }
+        return mask;
+    }
+
+    private long compile(String expression) {
+        return compile(authorityRegistry(), expression);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.context.Context;
+
+//WebFlux용 JwtFilter. 검증 로직은 JwtFilter와 같은 BearerTokenAuthenticator를 사용한다.
+//캐시에 없는 토큰의 서명 검증은 CPU 작업이므로 이벤트 루프가 아닌 verificationScheduler(Schedulers.parallel)에서 실행한다.
+public class ReactiveJwtFilter implements WebFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveJwtFilter.class);
+
+    private final BearerTokenAuthenticator authenticator;
+    private final AuthMetrics authMetrics;
+    private final Scheduler verificationScheduler;
+
+    public ReactiveJwtFilter(TokenProvider tokenProvider, TokenDenylist tokenDenylist, AuthMetrics authMetrics,
+                             Scheduler verificationScheduler) {
+        this.authenticator = new BearerTokenAuthenticator(tokenProvider, tokenDenylist);
+        this.authMetrics = authMetrics;
+        this.verificationScheduler = verificationScheduler;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        //공개키 경로는 인증이 필요 없으므로 토큰을 보지 않고 통과시킨다. (JwtFilter와 같다)
+        if (JwksPublisher.PATH.equals(exchange.getRequest().getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        String authorizationHeader = exchange.getRequest().getHeaders().getFirst(JwtFilter.AUTHORIZATION_HEADER);
+        if (!BearerTokenAuthenticator.isBearer(authorizationHeader)) {
+            authMetrics.recordFilter(null, System.nanoTime() - start);
+            return chain.filter(exchange);
+        }
+
+        //이미 검증했던 토큰은 스레드를 옮기지 않고 바로 처리한다.
+        TokenValidationResult cached = authenticator.getCachedResult(authorizationHeader);
+        Mono<TokenValidationResult> result = cached != null
+                ? Mono.just(cached)
+                : Mono.fromCallable(() -> authenticator.verify(authorizationHeader)).subscribeOn(verificationScheduler);
+
+        //토큰이 정상적이면 Authentication 객체를 ReactiveSecurityContextHolder(Reactor Context)에 저장해줌.
+        return result
+                .map(validationResult -> {
+                    //스케줄러 대기시간을 포함한 인증 처리 시간
+                    authMetrics.recordFilter(validationResult, System.nanoTime() - start);
+                    return toContext(validationResult, exchange);
+                })
+                .flatMap(context -> chain.filter(exchange).contextWrite(context));
+    }
+
+    private Context toContext(TokenValidationResult result, ServerWebExchange exchange) {
+        if (result.isValid()) {
+            return ReactiveSecurityContextHolder.withAuthentication(result.getAuthentication());
+        }
+        if (logger.isTraceEnabled()) {
+            logger.trace("유효한 JWT 토큰이 없습니다({}), uri: {}", result.getStatus(), exchange.getRequest().getPath().value());
+        }
+        return Context.empty();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import com.example.jwttutorialinflearn.Util.BloomFilter;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//폐기된 토큰 목록. JwtFilter에서 요청마다 DB 조회 없이 확인한다.
+//  - jti 단위 폐기: 블룸 필터로 먼저 걸러내고, 필터가 "있을 수도 있다"고 할 때만 정확한 Map을 확인한다.
+//  - 유저 단위 폐기: username -> 기준시각. 기준시각 이전에 발급(iat)된 토큰은 모두 폐기된 것으로 본다.
+//항목은 해당 토큰의 만료시각이 지나면 purgeExpired에서 제거된다.
+//조회는 락이 없고, 추가/정리는 드물기 때문에 synchronized로 직렬화한다.
+@Component
+public class TokenDenylist {
+
+    private final long expectedRevocations;
+    private final double falsePositiveProbability;
+
+    private volatile BloomFilter revokedTokenFilter;
+    //jti -> 토큰 만료시각(epoch millis)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    //username -> 유저 단위 폐기 정보
+    private final Map<String, UserCutoff> userCutoffs = new ConcurrentHashMap<>();
+
+    public TokenDenylist(
+            @Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${jwt.revocation.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.revokedTokenFilter = new BloomFilter(expectedRevocations, falsePositiveProbability);
+    }
+
+    //검증된 토큰의 클레임으로 폐기 여부를 확인한다.
+    public boolean isRevoked(Claims claims) {
+        String tokenId = claims.getId();
+        if (tokenId != null && revokedTokenFilter.mightContain(tokenId) && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (userCutoffs.isEmpty()) {
+            return false;
+        }
+        UserCutoff cutoff = userCutoffs.get(claims.getSubject());
+        if (cutoff == null) {
+            return false;
+        }
+        //iat가 없는 토큰은 유저 단위 폐기 이전에 발급된 토큰이다. (기준시각은 iat와 같은 초 단위로 저장되어 있다)
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null || issuedAt.getTime() < cutoff.revokedBeforeMillis;
+    }
+
+    public synchronized void revokeToken(String tokenId, long expiresAtMillis) {
+        revokedTokens.merge(tokenId, expiresAtMillis, Math::max);
+        revokedTokenFilter.put(tokenId);
+    }
+
+    //revokedBeforeMillis 이전에 발급된 username의 토큰을 모두 폐기한다. expiresAtMillis 이후에는 의미가 없어진다.
+    //iat는 초 단위로 내림되므로 기준시각은 초 단위로 올림한다. 폐기한 초에 발급된 토큰도 모두 폐기되고,
+    //폐기 직후 같은 초에 다시 로그인하면 TokenProvider가 issuedAtFor로 iat를 기준시각 이후로 맞춘다.
+    public synchronized void revokeUser(String username, long revokedBeforeMillis, long expiresAtMillis) {
+        long cutoffMillis = (revokedBeforeMillis + 999) / 1000 * 1000;
+        userCutoffs.merge(username, new UserCutoff(cutoffMillis, expiresAtMillis),
+                (previous, next) -> previous.revokedBeforeMillis >= next.revokedBeforeMillis ? previous : next);
+    }
+
+    //username에게 지금(now) 발급할 토큰의 iat. 유저 단위 폐기의 기준시각이 아직 오지 않았으면(폐기한 초 안이면)
+    //기준시각을 리턴해서 새 토큰이 폐기되지 않게 한다.
+    public long issuedAtFor(String username, long now) {
+        if (userCutoffs.isEmpty()) {
+            return now;
+        }
+        UserCutoff cutoff = userCutoffs.get(username);
+        return cutoff != null ? Math.max(now, cutoff.revokedBeforeMillis) : now;
+    }
+
+    //만료된 항목을 지우고 블룸 필터를 남은 jti로 다시 만든다. (블룸 필터는 원소를 지울 수 없으므로)
+    public synchronized void purgeExpired(long now) {
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        userCutoffs.values().removeIf(cutoff -> cutoff.expiresAtMillis <= now);
+
+        BloomFilter filter = new BloomFilter(Math.max(expectedRevocations, revokedTokens.size()), falsePositiveProbability);
+        revokedTokens.keySet().forEach(filter::put);
+        this.revokedTokenFilter = filter;
+    }
+
+    public int getRevokedTokenCount() {
+        return revokedTokens.size();
+    }
+
+    public int getRevokedUserCount() {
+        return userCutoffs.size();
+    }
+
+    private static final class UserCutoff {
+        private final long revokedBeforeMillis;
+        private final long expiresAtMillis;
+
+        private UserCutoff(long revokedBeforeMillis, long expiresAtMillis) {
+            this.revokedBeforeMillis = revokedBeforeMillis;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -1,106 +1,305 @@
 package com.example.jwttutorialinflearn.Jwt;
 
+import com.example.jwttutorialinflearn.Service.CustomUserDetails;
+import com.example.jwttutorialinflearn.Util.Authorities;
+import com.example.jwttutorialinflearn.Util.RateLimitedLogger;
+import com.example.jwtverifier.JwtClaimNames;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
-import java.util.Arrays;
-import java.util.Collection;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
-public class TokenProvider implements InitializingBean {
+public class TokenProvider implements InitializingBean, DisposableBean {
     //
 
     private final Logger logger = LoggerFactory.getLogger(TokenProvider.class);
-    private static final String AUTHORITIES_KEY = "auth";
+    //잘못된 토큰이 몰려도 로그가 병목이 되지 않도록 검증 실패 로그는 10초에 10건까지만 남긴다.
+    private final RateLimitedLogger failureLogger = new RateLimitedLogger(logger, 10, Duration.ofSeconds(10));
+    //클레임 키는 다른 서비스의 검증 라이브러리(jwt-verifier)와 공유한다.
+    private static final String AUTHORITIES_KEY = JwtClaimNames.AUTHORITIES;
+    private static final String NICKNAME_KEY = JwtClaimNames.NICKNAME;
+    private static final String PROFILE_VERSION_KEY = JwtClaimNames.PROFILE_VERSION;
+    //압축 토큰 형식(jwt.compact.enabled)의 짧은 클레임 키. 검증할 때는 두 형식을 모두 읽는다.
+    private static final String COMPACT_AUTHORITIES_KEY = JwtClaimNames.COMPACT_AUTHORITIES;
+    private static final String COMPACT_NICKNAME_KEY = JwtClaimNames.COMPACT_NICKNAME;
+    private static final String COMPACT_PROFILE_VERSION_KEY = JwtClaimNames.COMPACT_PROFILE_VERSION;
+    //압축 토큰의 jti 길이 (UUID 문자열 36자 대신 128bit 랜덤값의 Base64URL 22자)
+    private static final int COMPACT_TOKEN_ID_BYTES = 16;
     private final String secret;
+    private final SignatureAlgorithm algorithm;
+    private final String keyLocation;
+    private final String keyId;
+    private final String keyRingLocation;
+    private final long keyRingReloadIntervalSeconds;
     private final long tokenValidityInMilliseconds;
-    private Key key;
+    private final boolean claimsProfileEnabled;
+    private final int claimsProfileVersion;
+    private final boolean compactEnabled;
+    private final AuthorityRegistry authorityRegistry;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private KeyRing keyRing;
+    private JwtParser jwtParser;
+    //검증된 토큰 캐시. jwt.cache.enabled가 false이면 null이다.
+    private final VerifiedTokenCache tokenCache;
+    private final AuthMetrics authMetrics;
+    private final TokenDenylist tokenDenylist;
 
     //의존성 주입
     public TokenProvider(
             //yml 파일에서 설정했던 secret 값과, 유효기간.
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.token-validity-in-seconds}") long tokenValidityInSeconds) {
+            //서명 알고리즘과 비대칭키 파일(PEM 또는 JWK) 경로
+            @Value("${jwt.algorithm:HS512}") String algorithm,
+            @Value("${jwt.key-location:}") String keyLocation,
+            //토큰 헤더의 kid 값. 키 링 디렉토리를 쓰면 kid가 없는 기존 토큰을 이 kid의 키로 검증한다.
+            @Value("${jwt.key-id:default}") String keyId,
+            //키 교체를 위한 키 링 디렉토리와 다시 읽는 주기
+            @Value("${jwt.key-ring.location:}") String keyRingLocation,
+            @Value("${jwt.key-ring.reload-interval-seconds:30}") long keyRingReloadIntervalSeconds,
+            @Value("${jwt.token-validity-in-seconds}") long tokenValidityInSeconds,
+            //검증된 토큰 캐시 사용여부와 최대 개수
+            @Value("${jwt.cache.enabled:false}") boolean cacheEnabled,
+            @Value("${jwt.cache.max-size:10000}") int cacheMaxSize,
+            //토큰에 nickname 등 프로필 클레임을 넣을지 여부와 그 버전
+            @Value("${jwt.claims-profile.enabled:false}") boolean claimsProfileEnabled,
+            @Value("${jwt.claims-profile.version:1}") int claimsProfileVersion,
+            //압축 토큰 형식 사용여부와 권한 비트마스크에 사용할 권한 목록
+            @Value("${jwt.compact.enabled:false}") boolean compactEnabled,
+            @Value("${jwt.compact.authorities:ROLE_USER,ROLE_ADMIN}") String compactAuthorities,
+            AuthMetrics authMetrics,
+            //유저 단위 폐기 직후에 발급하는 토큰의 iat를 정할 때 사용한다.
+            TokenDenylist tokenDenylist) {
         this.secret = secret;
+        this.algorithm = JwtKeyLoader.parseAlgorithm(algorithm);
+        this.keyLocation = keyLocation;
+        this.keyId = keyId;
+        this.keyRingLocation = keyRingLocation;
+        this.keyRingReloadIntervalSeconds = keyRingReloadIntervalSeconds;
         this.tokenValidityInMilliseconds = tokenValidityInSeconds * 1000;
+        this.tokenCache = cacheEnabled ? new VerifiedTokenCache(cacheMaxSize) : null;
+        this.claimsProfileEnabled = claimsProfileEnabled;
+        this.claimsProfileVersion = claimsProfileVersion;
+        this.compactEnabled = compactEnabled;
+        this.authorityRegistry = AuthorityRegistry.parse(compactAuthorities);
+        this.authMetrics = authMetrics;
+        this.tokenDenylist = tokenDenylist;
+        if (tokenCache != null) {
+            authMetrics.bindTokenCache(tokenCache);
+        }
     }
 
-    //주입받은 secret값을 Base64 Decode해서 key변수에 할당
+    //키 링 디렉토리가 있으면 디렉토리에서, 없으면 secret(HMAC) 또는 키 파일(비대칭키)로 키 링을 만든다.
+    //키 파싱은 여기서(그리고 키 파일이 바뀌었을 때만) 하고, 이후에는 만들어진 키와 JwtParser를 재사용한다.
     @Override
     public void afterPropertiesSet() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        this.key = Keys.hmacShaKeyFor(keyBytes);
+        if (keyRingLocation == null || keyRingLocation.isBlank()) {
+            this.keyRing = KeyRing.of(JwtKeyLoader.load(algorithm, secret, keyLocation).withKeyId(keyId));
+        } else {
+            this.keyRing = KeyRing.fromDirectory(Path.of(keyRingLocation.trim()), algorithm, keyId, tokenValidityInMilliseconds);
+            keyRing.startReloading(keyRingReloadIntervalSeconds);
+        }
+        //JwtParser는 불변이고 thread-safe 하므로 한번만 만들어서 모든 요청에서 재사용한다.
+        //검증키는 토큰 헤더의 kid로 키 링에서 찾는다.
+        this.jwtParser = Jwts.parserBuilder().setSigningKeyResolver(keyRing).build();
+        JwtKey signingKey = keyRing.getSigningKey();
+        logger.info("JWT 서명 kid: {}{}", signingKey == null ? "없음" : signingKey.getKeyId(),
+                signingKey != null && signingKey.canSign() ? "" : " (검증 전용)");
+    }
+
+    @Override
+    public void destroy() {
+        keyRing.close();
+    }
+
+    public KeyRing getKeyRing() {
+        return keyRing;
+    }
+
+    public AuthorityRegistry getAuthorityRegistry() {
+        return authorityRegistry;
     }
 
     //Authentication 객체의 권한정보를 이용해서 토큰을 생성하는 createToken 메소드
     public String createToken(Authentication authentication) {
-        String authorities = authentication.getAuthorities().stream()//권한들 가져옴.
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(","));
+        JwtKey key = keyRing.getSigningKey();
+        if (key == null || !key.canSign()) {
+            //공개키만 가진 리소스 서버는 토큰을 검증만 할 수 있다.
+            throw new IllegalStateException("개인키가 없어 토큰을 발급할 수 없습니다.");
+        }
+        long start = System.nanoTime();
+        //압축 형식이면 권한을 비트마스크로 넣는다. 목록에 없는 권한이 있으면 기존 문자열 클레임을 사용한다.
+        long authorityMask = compactEnabled ? authorityRegistry.encode(authentication.getAuthorities()) : -1;
 
         long now = (new Date()).getTime();
         Date validity = new Date(now + this.tokenValidityInMilliseconds); //yml에서 설정했던 토큰 만료시간
+        //유저 단위 폐기와 같은 초에 발급하면 iat를 폐기 기준시각(다음 초)으로 맞춰서 새 토큰이 폐기되지 않게 한다.
+        long issuedAt = tokenDenylist.issuedAtFor(authentication.getName(), now);
 
         //JWT 토큰 생성 후 리턴
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.getKeyId())//검증할 때 키를 찾기 위한 kid
+                .setId(compactEnabled ? compactTokenId() : UUID.randomUUID().toString())//토큰 폐기(revocation)에 사용하는 jti
+                .setIssuedAt(new Date(issuedAt))//발급시각. 유저 단위 폐기에 사용한다.
                 .setSubject(authentication.getName())//아이디
-                .claim(AUTHORITIES_KEY, authorities)//권한들
-                .signWith(key, SignatureAlgorithm.HS512)//알고리즘
-                .setExpiration(validity)//유효기간
-                .compact();
+                .signWith(key.getSigningKey(), key.getAlgorithm())//알고리즘
+                .setExpiration(validity);//유효기간
+
+        //권한들
+        if (authorityMask >= 0) {
+            builder.claim(COMPACT_AUTHORITIES_KEY, authorityMask);
+        } else {
+            builder.claim(AUTHORITIES_KEY, authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.joining(",")));
+        }
+
+        //프로필 클레임. /api/user가 DB 조회 없이 토큰만으로 응답할 수 있게 한다.
+        if (claimsProfileEnabled && authentication.getPrincipal() instanceof CustomUserDetails user
+                && user.getNickname() != null) {
+            builder.claim(compactEnabled ? COMPACT_NICKNAME_KEY : NICKNAME_KEY, user.getNickname())
+                    .claim(compactEnabled ? COMPACT_PROFILE_VERSION_KEY : PROFILE_VERSION_KEY, claimsProfileVersion);
+        }
+        String token = builder.compact();
+        authMetrics.recordTokenIssue(System.nanoTime() - start);
+        return token;
+    }
+
+    private String compactTokenId() {
+        byte[] bytes = new byte[COMPACT_TOKEN_ID_BYTES];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
 
     //토큰을 파라미터로 받아서 토큰에 담긴 정보를 이용해 Authentication 객체를 리턴하는 메소드
     public Authentication getAuthentication(String token) {
         //파리미터로 받은 토큰으로 클레임을 만든다.
-        Claims claims = Jwts
-                .parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        Collection<? extends GrantedAuthority> authorities =
-                Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))//클레임에서 권한정보를 빼낸다.
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
-
-        //권한정보를 이용해 User 객체를 만든다.
-        User principal = new User(claims.getSubject(), "", authorities);
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        return getAuthentication(claims, token);
+    }
+
+    //이미 검증된 클레임으로 Authentication 객체를 만드는 메소드. 서명 검증을 다시 하지 않는다.
+    public Authentication getAuthentication(Claims claims, String token) {
+        long start = System.nanoTime();
+        //클레임에서 권한정보를 빼낸다. 같은 권한 클레임이면 미리 만들어둔 불변 리스트를 공유한다.
+        //압축 형식(비트마스크)과 기존 형식(','로 구분된 문자열) 토큰을 모두 읽는다.
+        //권한 확인(PrecomputedRoleAuthorizationManager)에 사용할 비트마스크도 여기서 한번 계산한다.
+        List<GrantedAuthority> authorities;
+        Object authorityMask = claims.get(COMPACT_AUTHORITIES_KEY);
+        if (authorityMask instanceof Number mask) {
+            authorities = authorityRegistry.decode(mask.longValue());
+        } else {
+            Object authorityClaim = claims.get(AUTHORITIES_KEY);
+            authorities = Authorities.listOf(authorityClaim == null ? "" : authorityClaim.toString());
+        }
+        long knownAuthorityMask = authorityRegistry.encodeKnown(authorities);
+
+        //권한정보를 이용해 User 객체를 만든다. 프로필 클레임이 있으면 같이 담는다.
+        Object profileVersion = claim(claims, COMPACT_PROFILE_VERSION_KEY, PROFILE_VERSION_KEY);
+        Object nickname = claim(claims, COMPACT_NICKNAME_KEY, NICKNAME_KEY);
+        CustomUserDetails principal = new CustomUserDetails(claims.getSubject(), "", authorities,
+                nickname instanceof String name ? name : null,
+                profileVersion instanceof Number version ? version.intValue() : 0);
         //User객체, 토큰, 권한정보를 이용해 최종적으로 Authentication 객체를 리턴한다.
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        Authentication authentication = new JwtAuthenticationToken(principal, token, authorities,
+                knownAuthorityMask, authorityRegistry);
+        authMetrics.recordClaims(System.nanoTime() - start);
+        return authentication;
     }
 
-    //토큰을 파라미터로 받아서 토큰의 유효성 검증을 수행하는 메소드
-    public boolean validateToken(String token) {
+    private static Object claim(Claims claims, String compactKey, String key) {
+        Object value = claims.get(compactKey);
+        return value != null ? value : claims.get(key);
+    }
+
+    //토큰의 서명 검증과 파싱을 한번에 수행하고, 클레임 또는 실패 사유를 리턴하는 메소드
+    public TokenValidationResult verifyToken(String token) {
+        long start = System.nanoTime();
+        TokenValidationResult result;
         try {
             //받은 토큰으로 파싱을 해보고 발생하는 예외들을 잡는다.
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            //정상이면 true 문제가 있으면 false
-            return true;
-        } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
-            logger.info("잘못된 JWT 서명입니다.");
+            result = TokenValidationResult.valid(jwtParser.parseClaimsJws(token).getBody());
+        } catch (io.jsonwebtoken.security.SecurityException e) {
+            failureLogger.info("잘못된 JWT 서명입니다.");
+            result = TokenValidationResult.failure(TokenStatus.INVALID_SIGNATURE);
+        } catch (MalformedJwtException e) {
+            failureLogger.info("JWT 형식이 아닌 토큰입니다.");
+            result = TokenValidationResult.failure(TokenStatus.MALFORMED);
         } catch (ExpiredJwtException e) {
-            logger.info("만료된 JWT 토큰입니다.");
+            failureLogger.info("만료된 JWT 토큰입니다.");
+            result = TokenValidationResult.failure(TokenStatus.EXPIRED);
         } catch (UnsupportedJwtException e) {
-            logger.info("지원되지 않는 JWT 토큰입니다.");
+            failureLogger.info("지원되지 않는 JWT 토큰입니다.");
+            result = TokenValidationResult.failure(TokenStatus.UNSUPPORTED);
         } catch (IllegalArgumentException e) {
-            logger.info("JWT 토큰이 잘못되었습니다.");
+            failureLogger.info("JWT 토큰이 잘못되었습니다.");
+            result = TokenValidationResult.failure(TokenStatus.ILLEGAL);
+        }
+        authMetrics.recordTokenVerify(System.nanoTime() - start);
+        if (!result.isValid()) {
+            authMetrics.recordFailure(result.getStatus());
         }
-        return false;
+        return result;
+    }
+
+    //토큰을 검증하고 Authentication 객체까지 만들어서 리턴하는 메소드.
+    //캐시가 켜져 있으면 이미 검증했던 토큰은 서명 검증과 파싱을 건너뛴다.
+    public TokenValidationResult authenticate(String token) {
+        TokenValidationResult cached = getCachedResult(token);
+        return cached != null ? cached : verifyAndAuthenticate(token);
+    }
+
+    //캐시를 확인하지 않고 서명 검증 후 Authentication 객체까지 만들어서 캐시에 넣는다. (캐시를 이미 확인한 호출자용)
+    public TokenValidationResult verifyAndAuthenticate(String token) {
+        TokenValidationResult result = verifyToken(token);
+        if (!result.isValid()) {
+            return result;
+        }
+
+        Claims claims = result.getClaims();
+        TokenValidationResult authenticated = TokenValidationResult.authenticated(claims, getAuthentication(claims, token));
+        if (tokenCache != null && claims.getExpiration() != null) {
+            tokenCache.put(token, authenticated, claims.getExpiration().getTime());
+        }
+        return authenticated;
+    }
+
+    //캐시에 있는 검증 결과. 캐시가 꺼져 있거나 캐시에 없으면 null (서명 검증은 하지 않는다)
+    public TokenValidationResult getCachedResult(String token) {
+        return getCachedResult(token, 0);
+    }
+
+    //source의 offset부터 끝까지를 토큰으로 보고 캐시를 조회한다. (Authorization 헤더 값에서 토큰을 잘라내지 않고 조회)
+    public TokenValidationResult getCachedResult(String source, int offset) {
+        return tokenCache != null ? tokenCache.get(source, offset) : null;
+    }
+
+    public long getTokenValidityInMilliseconds() {
+        return tokenValidityInMilliseconds;
+    }
+
+    //캐시 통계 조회용. 캐시가 꺼져 있으면 null
+    public VerifiedTokenCache getTokenCache() {
+        return tokenCache;
+    }
+
+    //토큰을 파라미터로 받아서 토큰의 유효성 검증을 수행하는 메소드
+    public boolean validateToken(String token) {
+        //정상이면 true 문제가 있으면 false
+        return verifyToken(token).isValid();
     }
 }
\ No newline at end of file
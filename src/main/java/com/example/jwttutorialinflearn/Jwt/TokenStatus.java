@@ -0,0 +1,12 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+//토큰 검증 결과. VALID가 아니면 실패 사유를 나타낸다.
+public enum TokenStatus {
+    VALID,
+    INVALID_SIGNATURE, //잘못된 서명, 알 수 없는 키
+    MALFORMED, //JWT 형식이 아닌 값, 손상된 토큰
+    EXPIRED, //만료된 토큰
+    UNSUPPORTED, //지원되지 않는 토큰
+    ILLEGAL, //비어있거나 잘못된 토큰
+    REVOKED //로그아웃 등으로 폐기된 토큰
+}
@@ -0,0 +1,63 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.Authentication;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+//서명 검증과 파싱을 한번에 수행한 결과. 성공하면 클레임(과 Authentication 객체)을, 실패하면 실패 사유를 담는다.
+public class TokenValidationResult {
+
+    //실패 결과는 클레임이 없으므로 사유별로 하나씩만 만들어두고 재사용한다.
+    private static final Map<TokenStatus, TokenValidationResult> FAILURES = new EnumMap<>(TokenStatus.class);
+
+    static {
+        for (TokenStatus status : TokenStatus.values()) {
+            if (status != TokenStatus.VALID) {
+                FAILURES.put(status, new TokenValidationResult(status, null, null));
+            }
+        }
+    }
+
+    private final TokenStatus status;
+    private final Claims claims;
+    private final Authentication authentication;
+
+    private TokenValidationResult(TokenStatus status, Claims claims, Authentication authentication) {
+        this.status = status;
+        this.claims = claims;
+        this.authentication = authentication;
+    }
+
+    public static TokenValidationResult valid(Claims claims) {
+        return new TokenValidationResult(TokenStatus.VALID, claims, null);
+    }
+
+    public static TokenValidationResult authenticated(Claims claims, Authentication authentication) {
+        return new TokenValidationResult(TokenStatus.VALID, claims, authentication);
+    }
+
+    public static TokenValidationResult failure(TokenStatus status) {
+        if (status == TokenStatus.VALID) {
+            throw new IllegalArgumentException("VALID는 실패 사유가 아닙니다.");
+        }
+        return FAILURES.get(status);
+    }
+
+    public boolean isValid() {
+        return status == TokenStatus.VALID;
+    }
+
+    public TokenStatus getStatus() {
+        return status;
+    }
+
+    public Claims getClaims() {
+        return claims;
+    }
+
+    public Authentication getAuthentication() {
+        return authentication;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+//서명 검증이 끝난 토큰의 검증 결과(클레임, Authentication 객체)를 보관하는 캐시.
+//토큰 문자로 바로 64비트 해시를 계산해서 슬롯을 찾고, 저장된 토큰 원문과 비교해서 일치할 때만 돌려준다.
+//조회 경로에서는 키 객체, 다이제스트, 버퍼를 만들지 않으므로 캐시 히트는 할당이 없다.
+//토큰의 만료시간(exp)이 지나면 더 이상 돌려주지 않는다.
+public class VerifiedTokenCache {
+
+    //한 해시값이 들어갈 수 있는 슬롯 수. 가득 차면 이 중 만료가 가장 빠른 항목을 교체한다.
+    private static final int WAYS = 4;
+
+    private static final long HASH_MULTIPLIER = 0x100000001b3L;
+
+    //WAYS개씩 묶인 슬롯. 항목은 불변이고 CAS로만 바꾸므로 조회 경로에 락이 없다.
+    private final AtomicReferenceArray<Entry> slots;
+    private final int ways;
+    private final int setMask;
+
+    private final LongAdder size = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize는 0보다 커야 합니다: " + maxSize);
+        }
+        //슬롯 수가 maxSize를 넘지 않도록 묶음 수를 2의 거듭제곱으로 내림한다.
+        this.ways = Math.min(WAYS, maxSize);
+        int sets = Integer.highestOneBit(maxSize / ways);
+        this.setMask = sets - 1;
+        this.slots = new AtomicReferenceArray<>(sets * ways);
+    }
+
+    //캐시에 있고 아직 만료되지 않았으면 검증 결과를, 아니면 null을 리턴한다.
+    public TokenValidationResult get(String token) {
+        return get(token, 0);
+    }
+
+    //source의 offset부터 끝까지를 토큰으로 보고 조회한다. ("Bearer "를 잘라낸 문자열을 만들지 않아도 된다)
+    //해시는 지역 변수로만 계산하므로 platform thread, virtual thread 모두에서 같은 비용이다.
+    public TokenValidationResult get(String source, int offset) {
+        int length = source.length() - offset;
+        if (length <= 0) {
+            misses.increment();
+            return null;
+        }
+        long hash = hash(source, offset);
+        int base = setIndex(hash);
+        for (int i = base; i < base + ways; i++) {
+            Entry entry = slots.get(i);
+            if (entry == null || !entry.matches(hash, source, offset, length)) {
+                continue;
+            }
+            if (entry.isExpired(System.currentTimeMillis())) {
+                if (slots.compareAndSet(i, entry, null)) {
+                    size.decrement();
+                    evictions.increment();
+                }
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.result;
+        }
+        misses.increment();
+        return null;
+    }
+
+    //검증된 토큰을 만료시간(epoch millis)과 함께 저장한다.
+    //빈 슬롯, 같은 토큰, 만료된 항목 순으로 자리를 찾고, 없으면 만료가 가장 빠른 항목을 교체한다.
+    //다른 스레드와 같은 슬롯을 두고 경합하면 기다리지 않고 이번 토큰은 캐시하지 않는다.
+    public void put(String token, TokenValidationResult result, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (expiresAtMillis <= now || token.isEmpty()) {
+            return;
+        }
+        long hash = hash(token, 0);
+        Entry created = new Entry(hash, token, result, expiresAtMillis);
+        int base = setIndex(hash);
+        int victim = -1;
+        Entry victimEntry = null;
+        for (int i = base; i < base + ways; i++) {
+            Entry entry = slots.get(i);
+            if (entry == null) {
+                if (slots.compareAndSet(i, null, created)) {
+                    size.increment();
+                }
+                return;
+            }
+            if (entry.matches(hash, token, 0, token.length())) {
+                slots.compareAndSet(i, entry, created);
+                return;
+            }
+            if (entry.isExpired(now)) {
+                victim = i;
+                victimEntry = entry;
+                break;
+            }
+            if (victimEntry == null || entry.expiresAtMillis < victimEntry.expiresAtMillis) {
+                victim = i;
+                victimEntry = entry;
+            }
+        }
+        if (slots.compareAndSet(victim, victimEntry, created)) {
+            evictions.increment();
+        }
+    }
+
+    private int setIndex(long hash) {
+        return (int) (hash & setMask) * ways;
+    }
+
+    //source[offset..]의 64비트 다항식 해시. 아래 비트로 슬롯 위치를 정하므로 마지막에 비트를 섞는다.
+    //서명 검증을 통과한 토큰만 저장되므로 해시 충돌은 캐시 미스가 될 뿐이고, 원문 비교로 잘못된 결과를 돌려주는 일은 없다.
+    private static long hash(String source, int offset) {
+        long hash = 0;
+        for (int i = offset; i < source.length(); i++) {
+            hash = hash * HASH_MULTIPLIER + source.charAt(i);
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    public int size() {
+        return size.intValue();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private static final class Entry {
+        private final long hash;
+        private final String token;
+        private final TokenValidationResult result;
+        private final long expiresAtMillis;
+
+        private Entry(long hash, String token, TokenValidationResult result, long expiresAtMillis) {
+            this.hash = hash;
+            this.token = token;
+            this.result = result;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        //해시가 같으면 원문까지 비교한다.
+        private boolean matches(long hash, String source, int offset, int length) {
+            return this.hash == hash
+                    && token.length() == length
+                    && source.regionMatches(offset, token, 0, length);
+        }
+
+        //exp 시각이 되는 순간부터 만료로 본다.
+        private boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
@@ -2,12 +2,18 @@ package com.example.jwttutorialinflearn;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class JwtTutorialInflearnApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(JwtTutorialInflearnApplication.class, args);
+		SpringApplication application = new SpringApplication(JwtTutorialInflearnApplication.class);
+		//기동 단계별 시간을 기록한다. (StartupReporter, /actuator/startup)
+		application.setApplicationStartup(new BufferingApplicationStartup(10000));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,107 @@
+package com.example.jwttutorialinflearn.RateLimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+//로그인/회원가입 요청 수 제한. BCrypt와 DB 작업 전에 확인해서 CPU를 소모시키는 요청을 막는다.
+//  - 클라이언트 IP 단위: /api/authenticate, /api/signup (RateLimitFilter)
+//  - (username, 클라이언트 IP) 단위: /api/authenticate (AuthController) - 한 곳에서 한 계정의 비밀번호를 대입하는 경우
+//    실패한 로그인만 토큰을 쓰므로, username만 아는 공격자가 다른 곳에서 로그인하는 계정 주인을 잠글 수 없다.
+//    여러 IP에서 나눠 대입하는 것은 IP 단위 한도가 IP마다 막는다.
+//거절 수는 auth.ratelimit.rejected{scope=ip|username}, 메모리 구현의 키 개수는 auth.ratelimit.keys{scope} 이다.
+@Component
+public class AuthRateLimiter {
+
+    private final RateLimiter rateLimiter;
+    private final boolean enabled;
+    private final RateLimitPolicy ipPolicy;
+    private final RateLimitPolicy usernamePolicy;
+    private final Counter ipRejectedCounter;
+    private final Counter usernameRejectedCounter;
+
+    public AuthRateLimiter(
+            RateLimiter rateLimiter,
+            MeterRegistry meterRegistry,
+            @Value("${rate-limit.enabled:true}") boolean enabled,
+            @Value("${rate-limit.ip.capacity:20}") long ipCapacity,
+            @Value("${rate-limit.ip.refill-per-second:2}") double ipRefillPerSecond,
+            @Value("${rate-limit.username.capacity:5}") long usernameCapacity,
+            @Value("${rate-limit.username.refill-per-second:0.2}") double usernameRefillPerSecond) {
+        this.rateLimiter = rateLimiter;
+        this.enabled = enabled;
+        this.ipPolicy = new RateLimitPolicy("ip", ipCapacity, ipRefillPerSecond);
+        this.usernamePolicy = new RateLimitPolicy("username", usernameCapacity, usernameRefillPerSecond);
+        this.ipRejectedCounter = rejectedCounter(meterRegistry, ipPolicy);
+        this.usernameRejectedCounter = rejectedCounter(meterRegistry, usernamePolicy);
+        if (rateLimiter instanceof InMemoryTokenBucketRateLimiter inMemory) {
+            keysGauge(meterRegistry, inMemory, ipPolicy);
+            keysGauge(meterRegistry, inMemory, usernamePolicy);
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, RateLimitPolicy policy) {
+        return Counter.builder("auth.ratelimit.rejected")
+                .description("요청 수 제한으로 거절된 로그인/회원가입 요청 수")
+                .tag("scope", policy.getName())
+                .register(meterRegistry);
+    }
+
+    private static void keysGauge(MeterRegistry meterRegistry, InMemoryTokenBucketRateLimiter limiter,
+                                  RateLimitPolicy policy) {
+        Gauge.builder("auth.ratelimit.keys", limiter, l -> l.size(policy.getName()))
+                .description("요청 수 제한 버킷 개수")
+                .tag("scope", policy.getName())
+                .register(meterRegistry);
+    }
+
+    public RateLimitDecision checkClientIp(String clientIp) {
+        return check(ipPolicy, clientIp, ipRejectedCounter);
+    }
+
+    //로그인 시도 전에(BCrypt 검증 전에) 이 클라이언트의 실패 한도가 남아 있는지 확인한다. 토큰은 쓰지 않는다.
+    public RateLimitDecision checkLogin(String username, String clientIp) {
+        if (!enabled || username == null) {
+            return RateLimitDecision.allowed();
+        }
+        RateLimitDecision decision = rateLimiter.peek(usernamePolicy, loginKey(username, clientIp));
+        if (!decision.isAllowed()) {
+            usernameRejectedCounter.increment();
+        }
+        return decision;
+    }
+
+    //비밀번호가 틀린 로그인을 센다. 성공한 로그인은 한도를 쓰지 않는다.
+    public void recordLoginFailure(String username, String clientIp) {
+        if (enabled && username != null) {
+            rateLimiter.tryAcquire(usernamePolicy, loginKey(username, clientIp));
+        }
+    }
+
+    //username은 대소문자만 바꿔서 한도를 우회하지 못하도록 소문자로 센다.
+    private static String loginKey(String username, String clientIp) {
+        return username.toLowerCase(Locale.ROOT) + '|' + clientIp;
+    }
+
+    private RateLimitDecision check(RateLimitPolicy policy, String key, Counter rejectedCounter) {
+        if (!enabled || key == null) {
+            return RateLimitDecision.allowed();
+        }
+        RateLimitDecision decision = rateLimiter.tryAcquire(policy, key);
+        if (!decision.isAllowed()) {
+            rejectedCounter.increment();
+        }
+        return decision;
+    }
+
+    //다시 가득 찬(= 한동안 요청이 없던) 버킷을 정리한다.
+    @Scheduled(fixedDelayString = "${rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        rateLimiter.evictIdle();
+    }
+}
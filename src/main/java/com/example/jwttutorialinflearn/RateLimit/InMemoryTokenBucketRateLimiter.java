@@ -0,0 +1,132 @@
+package com.example.jwttutorialinflearn.RateLimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+//노드 메모리에 버킷을 두는 토큰 버킷 RateLimiter. (기본 구현)
+//버킷 하나는 AtomicLong 하나이다. 토큰 개수와 마지막 시각을 따로 저장하는 대신 "버킷이 다시 가득 차는 시각"(GCRA의 TAT)만 저장하고
+//CAS로 갱신하므로 락이 없고, 요청마다 객체가 생성되지 않는다. (거절될 때만 결과 객체 생성)
+//가득 찬 버킷은 버킷이 없는 것과 같으므로 언제든 지울 수 있다. 아직 채워지는 중인(토큰을 쓴) 버킷은 지우지 않는다.
+//지울 수 있는 버킷이 없어서 키가 maxKeysPerPolicy개가 되면, 새 키는 정책마다 하나인 공용 버킷(overflow)을 같이 쓴다.
+//임의의 키를 대량으로 만들어서 한도에 걸린 키의 버킷을 지우게 하는 방식으로 한도를 우회할 수 없다.
+public class InMemoryTokenBucketRateLimiter implements RateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxKeysPerPolicy;
+    private final LongSupplier nanoClock;
+    //정책 이름 -> (key -> 버킷이 가득 차는 시각)
+    private final Map<String, ConcurrentHashMap<String, AtomicLong>> buckets = new ConcurrentHashMap<>();
+    //정책 이름 -> 키가 가득 찼을 때 새 키들이 같이 쓰는 버킷
+    private final Map<String, AtomicLong> overflowBuckets = new ConcurrentHashMap<>();
+    //키가 가득 찼을 때 한 스레드만 정리 작업을 하도록 하는 락. 조회 경로에서는 사용하지 않는다.
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    //키가 가득 찬 상태에서 새 키가 올 때마다 전체를 훑지 않도록 정리 작업은 SWEEP_INTERVAL_NANOS에 한번만 한다.
+    private volatile long lastSweepNanos;
+
+    public InMemoryTokenBucketRateLimiter(int maxKeysPerPolicy) {
+        this(maxKeysPerPolicy, System::nanoTime);
+    }
+
+    InMemoryTokenBucketRateLimiter(int maxKeysPerPolicy, LongSupplier nanoClock) {
+        if (maxKeysPerPolicy <= 0) {
+            throw new IllegalArgumentException("maxKeysPerPolicy는 0보다 커야 합니다: " + maxKeysPerPolicy);
+        }
+        this.maxKeysPerPolicy = maxKeysPerPolicy;
+        this.nanoClock = nanoClock;
+        this.lastSweepNanos = nanoClock.getAsLong() - SWEEP_INTERVAL_NANOS;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(RateLimitPolicy policy, String key) {
+        long interval = policy.getRefillIntervalNanos();
+        //버킷이 가득 찬 상태에서 몇 개까지 연속으로 허용할지
+        long burst = interval * policy.getCapacity();
+        AtomicLong fullAt = bucket(policy, key);
+
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = fullAt.get();
+            //이 요청으로 토큰 하나를 쓰면 버킷이 가득 차는 시각이 interval만큼 늦어진다.
+            long next = (current - now > 0 ? current : now) + interval;
+            long waitNanos = next - burst - now;
+            if (waitNanos > 0) {
+                return RateLimitDecision.rejected(waitNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return RateLimitDecision.allowed();
+            }
+        }
+    }
+
+    @Override
+    public RateLimitDecision peek(RateLimitPolicy policy, String key) {
+        ConcurrentHashMap<String, AtomicLong> policyBuckets = buckets.get(policy.getName());
+        AtomicLong fullAt = policyBuckets == null ? null : policyBuckets.get(key);
+        if (fullAt == null && policyBuckets != null && policyBuckets.size() >= maxKeysPerPolicy) {
+            fullAt = overflowBuckets.get(policy.getName());
+        }
+        if (fullAt == null) {
+            return RateLimitDecision.allowed();
+        }
+        long interval = policy.getRefillIntervalNanos();
+        long now = nanoClock.getAsLong();
+        long current = fullAt.get();
+        long waitNanos = (current - now > 0 ? current : now) + interval - interval * policy.getCapacity() - now;
+        return waitNanos > 0 ? RateLimitDecision.rejected(waitNanos) : RateLimitDecision.allowed();
+    }
+
+    private AtomicLong bucket(RateLimitPolicy policy, String key) {
+        ConcurrentHashMap<String, AtomicLong> policyBuckets =
+                buckets.computeIfAbsent(policy.getName(), name -> new ConcurrentHashMap<>());
+        AtomicLong bucket = policyBuckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (policyBuckets.size() >= maxKeysPerPolicy) {
+            sweep(policyBuckets);
+            if (policyBuckets.size() >= maxKeysPerPolicy) {
+                return overflowBuckets.computeIfAbsent(policy.getName(), name -> new AtomicLong(nanoClock.getAsLong()));
+            }
+        }
+        //새 버킷은 가득 찬 상태(지금 가득 참)로 시작한다.
+        return policyBuckets.computeIfAbsent(key, k -> new AtomicLong(nanoClock.getAsLong()));
+    }
+
+    //가득 찬 버킷만 지운다. 다른 스레드가 정리중이거나 최근에 정리했으면 건너뛴다.
+    private void sweep(ConcurrentHashMap<String, AtomicLong> policyBuckets) {
+        long now = nanoClock.getAsLong();
+        if (now - lastSweepNanos < SWEEP_INTERVAL_NANOS || !sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            lastSweepNanos = now;
+            removeFull(policyBuckets, now);
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    @Override
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        for (ConcurrentHashMap<String, AtomicLong> policyBuckets : buckets.values()) {
+            removeFull(policyBuckets, now);
+        }
+        overflowBuckets.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+    }
+
+    private static void removeFull(ConcurrentHashMap<String, AtomicLong> policyBuckets, long now) {
+        policyBuckets.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+    }
+
+    //정책별로 관리중인 키 개수
+    public int size(String policyName) {
+        ConcurrentHashMap<String, AtomicLong> policyBuckets = buckets.get(policyName);
+        return policyBuckets == null ? 0 : policyBuckets.size();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.jwttutorialinflearn.RateLimit;
+
+import java.util.concurrent.TimeUnit;
+
+//요청 수 제한 결과. 허용 결과는 하나만 만들어두고 재사용한다.
+public final class RateLimitDecision {
+
+    private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0);
+
+    private final boolean allowed;
+    private final long retryAfterNanos;
+
+    private RateLimitDecision(boolean allowed, long retryAfterNanos) {
+        this.allowed = allowed;
+        this.retryAfterNanos = retryAfterNanos;
+    }
+
+    public static RateLimitDecision allowed() {
+        return ALLOWED;
+    }
+
+    public static RateLimitDecision rejected(long retryAfterNanos) {
+        return new RateLimitDecision(false, retryAfterNanos);
+    }
+
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    public long getRetryAfterNanos() {
+        return retryAfterNanos;
+    }
+
+    //Retry-After 헤더 값. 초 단위로 올림한다.
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.jwttutorialinflearn.RateLimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+//로그인/회원가입 요청을 클라이언트 IP 단위로 제한하는 필터. 한도를 넘으면 본문을 읽기 전에 429 + Retry-After로 응답한다.
+//프록시 뒤에서는 server.forward-headers-strategy를 설정해야 getRemoteAddr()가 실제 클라이언트 IP가 된다.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LIMITED_PATHS = Set.of("/api/authenticate", "/api/signup");
+
+    private final AuthRateLimiter authRateLimiter;
+
+    public RateLimitFilter(AuthRateLimiter authRateLimiter) {
+        this.authRateLimiter = authRateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !LIMITED_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitDecision decision = authRateLimiter.checkClientIp(request.getRemoteAddr());
+        if (!decision.isAllowed()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(decision.getRetryAfterSeconds()));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.jwttutorialinflearn.RateLimit;
+
+//토큰 버킷 한도. 처음에는 capacity개까지 연속으로 허용하고, 이후에는 초당 refillPerSecond개씩 채워진다.
+//name이 버킷 공간을 구분하므로 같은 key(IP, username)라도 정책마다 따로 센다.
+public final class RateLimitPolicy {
+    private final String name;
+    private final long capacity;
+    private final double refillPerSecond;
+    //토큰 하나가 채워지는 시간
+    private final long refillIntervalNanos;
+
+    public RateLimitPolicy(String name, long capacity, double refillPerSecond) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity와 refillPerSecond는 0보다 커야 합니다: " + name);
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.refillIntervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public double getRefillPerSecond() {
+        return refillPerSecond;
+    }
+
+    public long getRefillIntervalNanos() {
+        return refillIntervalNanos;
+    }
+}
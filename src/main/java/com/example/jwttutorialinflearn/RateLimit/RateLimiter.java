@@ -0,0 +1,16 @@
+package com.example.jwttutorialinflearn.RateLimit;
+
+//요청 수 제한 SPI. 기본 구현은 노드 메모리에 버킷을 두는 InMemoryTokenBucketRateLimiter 이고,
+//여러 노드가 한도를 공유해야 하면 같은 인터페이스로 Redis 등 공용 저장소 구현을 RateLimiter 빈으로 등록하면 된다.
+public interface RateLimiter {
+
+    //policy의 key 버킷에서 토큰 하나를 사용한다. 버킷이 비어 있으면 거절 결과와 다시 시도할 수 있는 시간을 리턴한다.
+    RateLimitDecision tryAcquire(RateLimitPolicy policy, String key);
+
+    //토큰을 사용하지 않고, 지금 tryAcquire를 호출하면 허용될지만 확인한다. 버킷이 없으면 허용이다.
+    RateLimitDecision peek(RateLimitPolicy policy, String key);
+
+    //오랫동안 사용되지 않은 버킷을 정리한다. 저장소가 스스로 만료시키는 구현은 아무것도 하지 않아도 된다.
+    default void evictIdle() {
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.jwttutorialinflearn.Repository;
+
+import com.example.jwttutorialinflearn.Audit.AuditEventType;
+import com.example.jwttutorialinflearn.Entity.AuditEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
+
+    //keyset 페이지네이션: beforeId 이전 이벤트를 최신순으로 조회한다. type, username이 null이면 조건에서 빠진다.
+    @Query("select e from AuditEvent e where e.auditEventId < :beforeId"
+            + " and (:type is null or e.eventType = :type)"
+            + " and (:username is null or e.username = :username)"
+            + " order by e.auditEventId desc")
+    List<AuditEvent> findPageBefore(@Param("beforeId") Long beforeId, @Param("type") AuditEventType type,
+                                    @Param("username") String username, Pageable pageable);
+}
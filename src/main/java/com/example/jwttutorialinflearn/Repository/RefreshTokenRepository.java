@@ -0,0 +1,31 @@
+package com.example.jwttutorialinflearn.Repository;
+
+import com.example.jwttutorialinflearn.Entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    //아직 사용되지 않은 토큰만 사용됨으로 바꾼다. 0이 리턴되면 다른 요청이 먼저 사용한 것이다.
+    @Modifying
+    @Query("update RefreshToken r set r.used = true where r.refreshTokenId = :id and r.used = false and r.revoked = false")
+    int markUsed(@Param("id") Long id);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.familyId = :familyId and r.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.userId = :userId and r.revoked = false")
+    int revokeAllByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -1,12 +1,39 @@
 package com.example.jwttutorialinflearn.Repository;
 
 import com.example.jwttutorialinflearn.Entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    //로그인마다 호출되므로 쿼리 캐시를 사용한다. users, user_authority 테이블이 바뀌면 캐시된 결과는 무효화된다.
     @EntityGraph(attributePaths = "authorities")
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<User> findOneWithAuthoritiesByUsername(String username);
+
+    @EntityGraph(attributePaths = "authorities")
+    Optional<User> findOneWithAuthoritiesByUserId(Long userId);
+
+    Optional<User> findOneByUsername(String username);
+
+    //주어진 username 중 이미 가입된 것만 한번의 쿼리로 조회한다. (대량 가입의 중복 확인용)
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    //keyset 페이지네이션: afterId 다음 유저들을 user_id 순으로 pageable의 크기만큼 조회한다. [userId, username, nickname]
+    //offset을 쓰지 않으므로 뒤쪽 페이지도 인덱스로 바로 찾아간다. 권한은 findAuthorityNamesByUserIds로 한번에 가져온다.
+    @Query("select u.userId, u.username, u.nickname from User u where u.userId > :afterId order by u.userId")
+    List<Object[]> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    //여러 유저의 권한을 한번의 쿼리로 조회한다. [userId, authorityName]
+    @Query("select u.userId, a.authorityName from User u join u.authorities a where u.userId in :userIds")
+    List<Object[]> findAuthorityNamesByUserIds(@Param("userIds") Collection<Long> userIds);
 }
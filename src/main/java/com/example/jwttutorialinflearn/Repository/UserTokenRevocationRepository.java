@@ -0,0 +1,18 @@
+package com.example.jwttutorialinflearn.Repository;
+
+import com.example.jwttutorialinflearn.Entity.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, String> {
+    List<UserTokenRevocation> findAllByExpiresAtAfter(Instant now);
+
+    @Modifying
+    @Query("delete from UserTokenRevocation r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
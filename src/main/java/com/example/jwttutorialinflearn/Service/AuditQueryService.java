@@ -0,0 +1,33 @@
+package com.example.jwttutorialinflearn.Service;
+
+import com.example.jwttutorialinflearn.Audit.AuditEventType;
+import com.example.jwttutorialinflearn.Dto.AuditEventDto;
+import com.example.jwttutorialinflearn.Dto.AuditPageDto;
+import com.example.jwttutorialinflearn.Entity.AuditEvent;
+import com.example.jwttutorialinflearn.Repository.AuditEventRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+//관리자용 감사 로그 조회. audit_event_id 기준 keyset 페이지네이션(최신순)
+@Service
+public class AuditQueryService {
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final AuditEventRepository auditEventRepository;
+
+    public AuditQueryService(AuditEventRepository auditEventRepository) {
+        this.auditEventRepository = auditEventRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public AuditPageDto getEvents(Long beforeId, AuditEventType type, String username, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<AuditEvent> events = auditEventRepository.findPageBefore(
+                beforeId == null ? Long.MAX_VALUE : beforeId, type, username, PageRequest.of(0, pageSize));
+        Long nextBeforeId = events.size() == pageSize ? events.get(events.size() - 1).getAuditEventId() : null;
+        return new AuditPageDto(events.stream().map(AuditEventDto::from).toList(), nextBeforeId);
+    }
+}
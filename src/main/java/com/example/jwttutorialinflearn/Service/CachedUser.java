@@ -0,0 +1,44 @@
+package com.example.jwttutorialinflearn.Service;
+
+import com.example.jwttutorialinflearn.Entity.Authority;
+import com.example.jwttutorialinflearn.Entity.User;
+import com.example.jwttutorialinflearn.Util.Authorities;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+//캐시에 저장되는 유저 정보. 영속성 컨텍스트와 분리된 불변 객체이고, 권한은 공유 GrantedAuthority 객체를 사용한다.
+@Getter
+public class CachedUser {
+    private final Long userId;
+    private final String username;
+    private final String password;
+    private final String nickname;
+    private final boolean activated;
+    private final List<GrantedAuthority> authorities;
+
+    private CachedUser(Long userId, String username, String password, String nickname, boolean activated,
+                       List<GrantedAuthority> authorities) {
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.nickname = nickname;
+        this.activated = activated;
+        this.authorities = authorities;
+    }
+
+    public static CachedUser from(User user) {
+        return new CachedUser(
+                user.getUserId(),
+                user.getUsername(),
+                user.getPassword(),
+                user.getNickname(),
+                user.isActivated(),
+                user.getAuthorities().stream()
+                        .map(Authority::getAuthorityName)
+                        .sorted()
+                        .map(Authorities::of)
+                        .toList());
+    }
+}
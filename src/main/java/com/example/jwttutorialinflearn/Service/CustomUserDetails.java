@@ -0,0 +1,29 @@
+package com.example.jwttutorialinflearn.Service;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+//nickname 등 프로필 정보를 같이 가지고 있는 UserDetails.
+//로그인 시에는 DB에서, 토큰 인증 시에는 토큰 클레임에서 만들어진다.
+//profileVersion은 토큰에 담긴 프로필 클레임의 버전이고, 토큰에서 만든 것이 아니면 0이다.
+public class CustomUserDetails extends User {
+    private final String nickname;
+    private final int profileVersion;
+
+    public CustomUserDetails(String username, String password, Collection<? extends GrantedAuthority> authorities,
+                             String nickname, int profileVersion) {
+        super(username, password, authorities);
+        this.nickname = nickname;
+        this.profileVersion = profileVersion;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public int getProfileVersion() {
+        return profileVersion;
+    }
+}
@@ -1,47 +1,62 @@
 package com.example.jwttutorialinflearn.Service;
 
-import com.example.jwttutorialinflearn.Entity.User;
+import com.example.jwttutorialinflearn.Jwt.AuthMetrics;
 import com.example.jwttutorialinflearn.Repository.UserRepository;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Component("userDetailsService")
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     //Spring Security의 UserDetailsService를 구현한 클래스이다.
+    private final UserCacheService userCacheService;
     private final UserRepository userRepository;
+    private final AuthMetrics authMetrics;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserCacheService userCacheService, UserRepository userRepository,
+                                    AuthMetrics authMetrics) {
+        this.userCacheService = userCacheService;
         this.userRepository = userRepository;
+        this.authMetrics = authMetrics;
     }
 
-    //로그인 시 DB에서 유저정보와 권한정보를 가져오는 메소드.
+    //로그인 시 유저정보와 권한정보를 가져오는 메소드. 캐시에 없을 때만 DB에서 가져온다.
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(final String username) {
-        return userRepository.findOneWithAuthoritiesByUsername(username)
-                .map(user -> createUser(username, user))
-                .orElseThrow(() -> new UsernameNotFoundException(username + " -> 데이터베이스에서 찾을 수 없습니다."));
+        long start = System.nanoTime();
+        CachedUser user = userCacheService.findByUsername(username);
+        authMetrics.recordUserLookup(System.nanoTime() - start);
+        if (user == null) {
+            throw new UsernameNotFoundException(username + " -> 데이터베이스에서 찾을 수 없습니다.");
+        }
+        return createUser(username, user);
+    }
+
+    //로그인 성공 후 저장된 해시의 BCrypt cost가 설정값과 다르면 Spring Security가 새로 해시한 비밀번호로 호출한다.
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findOneByUsername(user.getUsername())
+                .ifPresent(entity -> entity.setPassword(newPassword));
+        userCacheService.evict(user.getUsername());
+
+        String nickname = user instanceof CustomUserDetails customUser ? customUser.getNickname() : null;
+        return new CustomUserDetails(user.getUsername(), newPassword, user.getAuthorities(), nickname, 0);
     }
 
-    private org.springframework.security.core.userdetails.User createUser(String username, User user) {
+    private CustomUserDetails createUser(String username, CachedUser user) {
         if (!user.isActivated()) { //유저가 활성화 상태가 아니라면
             throw new RuntimeException(username + " -> 활성화되어 있지 않습니다.");
         }
-        //유저의 권한정보
-        List<GrantedAuthority> grantedAuthorities = user.getAuthorities().stream()
-                .map(authority -> new SimpleGrantedAuthority(authority.getAuthorityName()))
-                .collect(Collectors.toList());
-        //권한정보, username, password로 User 객체를 리턴해줌.
-        return new org.springframework.security.core.userdetails.User(user.getUsername(),
+        //권한정보, username, password로 User 객체를 리턴해줌. (토큰에 넣을 nickname 포함)
+        //권한정보는 캐시에 있는 공유 GrantedAuthority 객체를 그대로 사용한다.
+        return new CustomUserDetails(user.getUsername(),
                 user.getPassword(),
-                grantedAuthorities);
+                user.getAuthorities(),
+                user.getNickname(),
+                0);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+package com.example.jwttutorialinflearn.Service;
+
+import com.example.jwttutorialinflearn.Dto.TokenDto;
+import com.example.jwttutorialinflearn.Entity.RefreshToken;
+import com.example.jwttutorialinflearn.Entity.User;
+import com.example.jwttutorialinflearn.Exception.InvalidRefreshTokenException;
+import com.example.jwttutorialinflearn.Exception.NotFoundMemberException;
+import com.example.jwttutorialinflearn.Jwt.TokenProvider;
+import com.example.jwttutorialinflearn.Repository.RefreshTokenRepository;
+import com.example.jwttutorialinflearn.Repository.UserRepository;
+import com.example.jwttutorialinflearn.Util.Authorities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+//Refresh Token 발급, 교체(rotation), 재사용 감지, 만료 토큰 정리를 담당한다.
+//refresh token은 JWT가 아닌 랜덤 문자열이고, DB에는 해시만 저장한다.
+@Service
+public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenProvider tokenProvider;
+    private final long refreshTokenValidityInSeconds;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            UserRepository userRepository,
+            TokenProvider tokenProvider,
+            @Value("${jwt.refresh-token.validity-in-seconds:1209600}") long refreshTokenValidityInSeconds) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.tokenProvider = tokenProvider;
+        this.refreshTokenValidityInSeconds = refreshTokenValidityInSeconds;
+    }
+
+    //로그인 성공 시 새 family의 refresh token을 발급한다.
+    @Transactional
+    public String issue(String username) {
+        User user = userRepository.findOneByUsername(username)
+                .orElseThrow(() -> new NotFoundMemberException("Member not found"));
+        return save(user.getUserId(), UUID.randomUUID().toString());
+    }
+
+    //refresh token을 새 토큰으로 교체하고 새 Access Token을 발급한다.
+    //이미 교체된 토큰이 다시 들어오면 탈취된 것으로 보고 같은 family의 토큰을 모두 폐기한다.
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public TokenDto refresh(String rawRefreshToken) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(hash(rawRefreshToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("유효하지 않은 refresh token 입니다."));
+
+        if (refreshToken.isRevoked()) {
+            throw new InvalidRefreshTokenException("폐기된 refresh token 입니다.");
+        }
+        if (refreshToken.getExpiresAt().isBefore(Instant.now())) {
+            throw new InvalidRefreshTokenException("만료된 refresh token 입니다.");
+        }
+        if (refreshToken.isUsed() || refreshTokenRepository.markUsed(refreshToken.getRefreshTokenId()) == 0) {
+            refreshTokenRepository.revokeFamily(refreshToken.getFamilyId());
+            logger.warn("refresh token 재사용이 감지되어 family를 폐기했습니다. userId: {}", refreshToken.getUserId());
+            throw new InvalidRefreshTokenException("이미 사용된 refresh token 입니다.");
+        }
+
+        User user = userRepository.findOneWithAuthoritiesByUserId(refreshToken.getUserId())
+                .filter(User::isActivated)
+                .orElseThrow(() -> new InvalidRefreshTokenException("사용할 수 없는 계정입니다."));
+
+        //BCrypt 검증 없이 DB의 권한정보로 Authentication 객체를 만들어서 Access Token을 발급한다.
+        List<GrantedAuthority> authorities = user.getAuthorities().stream()
+                .map(authority -> Authorities.of(authority.getAuthorityName()))
+                .collect(Collectors.toList());
+        CustomUserDetails principal = new CustomUserDetails(user.getUsername(), "", authorities, user.getNickname(), 0);
+        String accessToken = tokenProvider.createToken(
+                new UsernamePasswordAuthenticationToken(principal, null, authorities));
+
+        return new TokenDto(accessToken, save(user.getUserId(), refreshToken.getFamilyId()));
+    }
+
+    //로그아웃 시 해당 refresh token의 family를 폐기한다. 없는 토큰이면 아무것도 하지 않는다.
+    @Transactional
+    public void revoke(String rawRefreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawRefreshToken))
+                .ifPresent(refreshToken -> refreshTokenRepository.revokeFamily(refreshToken.getFamilyId()));
+    }
+
+    //해당 유저의 refresh token을 모두 폐기한다.
+    @Transactional
+    public int revokeAll(Long userId) {
+        return refreshTokenRepository.revokeAllByUserId(userId);
+    }
+
+    //만료된 refresh token을 한번의 bulk delete로 정리한다.
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            logger.info("만료된 refresh token {}건을 삭제했습니다.", deleted);
+        }
+    }
+
+    private String save(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .userId(userId)
+                .familyId(familyId)
+                .expiresAt(Instant.now().plusSeconds(refreshTokenValidityInSeconds))
+                .build());
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
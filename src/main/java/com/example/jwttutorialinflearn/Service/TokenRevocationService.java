@@ -0,0 +1,109 @@
+package com.example.jwttutorialinflearn.Service;
+
+import com.example.jwttutorialinflearn.Entity.RevokedToken;
+import com.example.jwttutorialinflearn.Entity.User;
+import com.example.jwttutorialinflearn.Entity.UserTokenRevocation;
+import com.example.jwttutorialinflearn.Exception.NotFoundMemberException;
+import com.example.jwttutorialinflearn.Jwt.TokenDenylist;
+import com.example.jwttutorialinflearn.Jwt.TokenProvider;
+import com.example.jwttutorialinflearn.Jwt.TokenValidationResult;
+import com.example.jwttutorialinflearn.Repository.RevokedTokenRepository;
+import com.example.jwttutorialinflearn.Repository.UserRepository;
+import com.example.jwttutorialinflearn.Repository.UserTokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+//토큰 폐기를 DB에 저장하고 TokenDenylist에 반영한다.
+//애플리케이션이 시작될 때 아직 만료되지 않은 폐기 정보를 DB에서 읽어서 TokenDenylist를 다시 만든다.
+@Service
+public class TokenRevocationService implements InitializingBean {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserTokenRevocationRepository userTokenRevocationRepository;
+    private final UserRepository userRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenProvider tokenProvider;
+    private final TokenDenylist tokenDenylist;
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            UserTokenRevocationRepository userTokenRevocationRepository,
+            UserRepository userRepository,
+            RefreshTokenService refreshTokenService,
+            TokenProvider tokenProvider,
+            TokenDenylist tokenDenylist) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.userTokenRevocationRepository = userTokenRevocationRepository;
+        this.userRepository = userRepository;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenProvider = tokenProvider;
+        this.tokenDenylist = tokenDenylist;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Instant now = Instant.now();
+        revokedTokenRepository.findAllByExpiresAtAfter(now)
+                .forEach(revoked -> tokenDenylist.revokeToken(revoked.getTokenId(), revoked.getExpiresAt().toEpochMilli()));
+        userTokenRevocationRepository.findAllByExpiresAtAfter(now)
+                .forEach(revocation -> tokenDenylist.revokeUser(revocation.getUsername(),
+                        revocation.getRevokedBefore().toEpochMilli(), revocation.getExpiresAt().toEpochMilli()));
+        logger.info("폐기된 토큰 {}건, 유저 {}명을 불러왔습니다.",
+                tokenDenylist.getRevokedTokenCount(), tokenDenylist.getRevokedUserCount());
+    }
+
+    //Access Token 하나를 jti로 폐기한다. (로그아웃)
+    @Transactional
+    public void revokeToken(String token) {
+        TokenValidationResult result = tokenProvider.verifyToken(token);
+        if (!result.isValid()) {
+            return; //이미 사용할 수 없는 토큰
+        }
+        Claims claims = result.getClaims();
+        if (claims.getId() == null) {
+            logger.warn("jti가 없는 토큰은 개별 폐기할 수 없습니다. subject: {}", claims.getSubject());
+            return;
+        }
+        Instant expiresAt = claims.getExpiration().toInstant();
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenId(claims.getId())
+                .expiresAt(expiresAt)
+                .build());
+        tokenDenylist.revokeToken(claims.getId(), expiresAt.toEpochMilli());
+    }
+
+    //지금 이전에 발급된 username의 Access Token을 모두 폐기하고, refresh token도 모두 폐기한다.
+    @Transactional
+    public void revokeUser(String username) {
+        User user = userRepository.findOneByUsername(username)
+                .orElseThrow(() -> new NotFoundMemberException("Member not found"));
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusMillis(tokenProvider.getTokenValidityInMilliseconds());
+
+        userTokenRevocationRepository.save(UserTokenRevocation.builder()
+                .username(username)
+                .revokedBefore(now)
+                .expiresAt(expiresAt)
+                .build());
+        refreshTokenService.revokeAll(user.getUserId());
+        tokenDenylist.revokeUser(username, now.toEpochMilli(), expiresAt.toEpochMilli());
+    }
+
+    //만료된 폐기 정보를 DB와 메모리에서 정리한다.
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:600000}")
+    @Transactional
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        revokedTokenRepository.deleteExpired(now);
+        userTokenRevocationRepository.deleteExpired(now);
+        tokenDenylist.purgeExpired(now.toEpochMilli());
+    }
+}
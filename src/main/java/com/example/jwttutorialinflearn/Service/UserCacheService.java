@@ -0,0 +1,34 @@
+package com.example.jwttutorialinflearn.Service;
+
+import com.example.jwttutorialinflearn.Repository.UserRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+//username으로 유저 + 권한정보를 읽어오는 read-through 캐시.
+//캐시 크기와 TTL은 application.yml의 spring.cache.caffeine.spec으로 설정한다.
+@Service
+public class UserCacheService {
+    public static final String CACHE_NAME = "users";
+
+    private final UserRepository userRepository;
+
+    public UserCacheService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    //캐시에 없으면 DB에서 읽어서 캐시한다. 없는 유저(null)는 캐시하지 않는다.
+    @Cacheable(cacheNames = CACHE_NAME, key = "#username", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public CachedUser findByUsername(String username) {
+        return userRepository.findOneWithAuthoritiesByUsername(username)
+                .map(CachedUser::from)
+                .orElse(null);
+    }
+
+    //회원가입, 활성화 상태나 비밀번호 변경 등 유저 정보가 바뀌면 호출한다.
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#username")
+    public void evict(String username) {
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.jwttutorialinflearn.Service;
+
+import com.example.jwttutorialinflearn.Dto.UserDto;
+import com.example.jwttutorialinflearn.Dto.UserImportErrorDto;
+import com.example.jwttutorialinflearn.Dto.UserImportResultDto;
+import com.example.jwttutorialinflearn.Entity.Authority;
+import com.example.jwttutorialinflearn.Entity.User;
+import com.example.jwttutorialinflearn.Exception.PasswordHashingOverloadedException;
+import com.example.jwttutorialinflearn.Repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+//대량 가입(파트너사 계정 일괄 등록).
+//입력을 chunk-size행씩 읽어서 처리하므로 입력 크기와 관계없이 메모리 사용량이 일정하다. chunk마다
+//  1. 입력 안의 중복과 이미 가입된 username을 한번의 in 쿼리로 걸러내고
+//  2. 비밀번호를 여러 스레드에서 동시에 해시한 뒤
+//  3. users, user_authority insert를 JDBC 배치(hibernate.jdbc.batch_size)로 실행하고 커밋한다.
+//실패한 행은 결과에 담고 나머지 행은 계속 처리한다.
+@Service
+public class UserImportService implements DisposableBean {
+
+    public enum Format {
+        NDJSON, //한 줄에 UserDto JSON 하나
+        CSV //username,password,nickname (따옴표로 감싼 필드는 지원하지 않는다)
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+    private static final String DEFAULT_AUTHORITY = "ROLE_USER";
+    private static final int HASH_ATTEMPTS = 3;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final ExecutorService hashingExecutor;
+
+    public UserImportService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                             EntityManager entityManager, PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper, Validator validator,
+                             @Value("${user-import.chunk-size:1000}") int chunkSize,
+                             @Value("${user-import.hashing-threads:0}") int hashingThreads,
+                             @Value("${user-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+
+        //해시는 BCrypt 전용 풀(PasswordEncoder)에서 실행된다. 대량 가입이 그 풀을 모두 차지해서 로그인이 밀리지 않도록
+        //동시에 보내는 해시 작업 수를 기본으로 코어의 절반으로 제한한다.
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashingExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hashing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public UserImportResultDto importUsers(Reader reader, Format format) throws IOException {
+        ImportReport report = new ImportReport(maxReportedErrors);
+        BufferedReader lines = new BufferedReader(reader);
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        long lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && isCsvHeader(line))) {
+                continue;
+            }
+            report.total++;
+            Row row = parse(line, lineNumber, format, report);
+            if (row != null) {
+                chunk.add(row);
+            }
+            if (chunk.size() >= chunkSize) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+
+        logger.info("대량 가입 완료. 전체 {}건, 성공 {}건, 실패 {}건", report.total, report.imported, report.failed);
+        return report.toDto();
+    }
+
+    //행을 UserDto로 읽고 검증한다. 실패하면 report에 기록하고 null을 리턴한다.
+    private Row parse(String line, long lineNumber, Format format, ImportReport report) {
+        UserDto userDto;
+        try {
+            userDto = format == Format.NDJSON ? objectMapper.readValue(line, UserDto.class) : parseCsv(line);
+        } catch (JsonProcessingException e) {
+            report.fail(lineNumber, null, "JSON 형식이 잘못되었습니다: " + e.getOriginalMessage());
+            return null;
+        } catch (IllegalArgumentException e) {
+            report.fail(lineNumber, null, e.getMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<UserDto>> violations = validator.validate(userDto);
+        if (!violations.isEmpty()) {
+            report.fail(lineNumber, userDto.getUsername(), violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+        return new Row(lineNumber, userDto);
+    }
+
+    private static UserDto parseCsv(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("CSV 행은 username,password,nickname 3개의 필드여야 합니다.");
+        }
+        return UserDto.builder()
+                .username(fields[0].trim())
+                .password(fields[1])
+                .nickname(fields[2].trim())
+                .build();
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.trim().toLowerCase(Locale.ROOT).startsWith("username,");
+    }
+
+    private void importChunk(List<Row> rows, ImportReport report) {
+        //1. 입력 안의 중복. 먼저 나온 행만 사용한다.
+        Map<String, Row> unique = new LinkedHashMap<>();
+        for (Row row : rows) {
+            if (unique.putIfAbsent(row.userDto.getUsername(), row) != null) {
+                report.fail(row, "입력 안에서 중복된 username 입니다.");
+            }
+        }
+
+        //2. 이미 가입된 username. 이전 chunk는 이미 커밋되었으므로 chunk 사이의 중복도 여기서 걸러진다.
+        for (String existing : userRepository.findExistingUsernames(unique.keySet())) {
+            report.fail(unique.remove(existing), "이미 가입되어 있는 유저입니다.");
+        }
+        if (unique.isEmpty()) {
+            return;
+        }
+
+        //3. 비밀번호 해시
+        List<Row> hashed = hashPasswords(unique.values(), report);
+
+        //4. 배치 insert. 동시에 가입한 유저 등으로 chunk 전체가 실패하면 행 단위로 다시 저장해서 실패한 행만 골라낸다.
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(hashed));
+            report.imported += hashed.size();
+        } catch (DataAccessException | PersistenceException e) {
+            logger.warn("대량 가입 chunk 저장에 실패해서 행 단위로 다시 저장합니다: {}", e.getMessage());
+            for (Row row : hashed) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    report.imported++;
+                } catch (DataAccessException | PersistenceException rowException) {
+                    report.fail(row, "저장하지 못했습니다: " + NestedExceptionUtils.getMostSpecificCause(rowException).getMessage());
+                }
+            }
+        }
+    }
+
+    private List<Row> hashPasswords(Collection<Row> rows, ImportReport report) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            futures.add(CompletableFuture.supplyAsync(() -> encode(row.userDto.getPassword()), hashingExecutor));
+        }
+
+        List<Row> hashed = new ArrayList<>(rows.size());
+        Iterator<CompletableFuture<String>> results = futures.iterator();
+        for (Row row : rows) {
+            try {
+                row.encodedPassword = results.next().join();
+                hashed.add(row);
+            } catch (CompletionException e) {
+                report.fail(row, "비밀번호를 해시하지 못했습니다.");
+            }
+        }
+        return hashed;
+    }
+
+    //BCrypt 풀이 로그인 요청으로 가득 차 있으면 잠시 기다렸다가 다시 시도한다. (로그인이 우선)
+    private String encode(String rawPassword) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return passwordEncoder.encode(rawPassword);
+            } catch (PasswordHashingOverloadedException e) {
+                if (attempt >= HASH_ATTEMPTS) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(100L * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void insert(List<Row> rows) {
+        //권한은 조회하지 않고 참조만 사용한다. user_authority insert에는 authority_name만 필요하다.
+        Authority authority = entityManager.getReference(Authority.class, DEFAULT_AUTHORITY);
+        for (Row row : rows) {
+            entityManager.persist(User.builder()
+                    .username(row.userDto.getUsername())
+                    .password(row.encodedPassword)
+                    .nickname(row.userDto.getNickname())
+                    .authorities(Collections.singleton(authority))
+                    .activated(true)
+                    .build());
+        }
+        //insert는 hibernate.jdbc.batch_size 단위로 묶여서 실행된다. 영속성 컨텍스트는 chunk마다 비운다.
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    public void destroy() {
+        hashingExecutor.shutdownNow();
+    }
+
+    private static final class Row {
+        private final long lineNumber;
+        private final UserDto userDto;
+        private String encodedPassword;
+
+        private Row(long lineNumber, UserDto userDto) {
+            this.lineNumber = lineNumber;
+            this.userDto = userDto;
+        }
+    }
+
+    private static final class ImportReport {
+        private final int maxReportedErrors;
+        private final List<UserImportErrorDto> errors = new ArrayList<>();
+        private long total;
+        private long imported;
+        private long failed;
+
+        private ImportReport(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void fail(Row row, String message) {
+            fail(row.lineNumber, row.userDto.getUsername(), message);
+        }
+
+        private void fail(long lineNumber, String username, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new UserImportErrorDto(lineNumber, username, message));
+            }
+        }
+
+        private UserImportResultDto toDto() {
+            return UserImportResultDto.builder()
+                    .total(total)
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.jwttutorialinflearn.Service;
+
+import com.example.jwttutorialinflearn.Dto.AuthorityDto;
+import com.example.jwttutorialinflearn.Dto.UserDto;
+import com.example.jwttutorialinflearn.Dto.UserPageDto;
+import com.example.jwttutorialinflearn.Repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+//관리자용 전체 유저 조회.
+//  - 목록: user_id 기준 keyset 페이지네이션. 페이지의 권한은 in 쿼리 한번으로 가져온다.
+//  - 내보내기: JDBC 커서(fetchSize)로 읽으면서 JSON을 바로 출력하므로 유저 수와 관계없이 메모리 사용량이 일정하다.
+@Service
+public class UserListingService {
+    public static final int MAX_PAGE_SIZE = 1000;
+    //커서에서 한번에 가져오는 행 수이자 응답을 flush하는 유저 수
+    private static final int EXPORT_BATCH_SIZE = 500;
+
+    //유저와 권한을 user_id 순서로 한번에 읽는다. 같은 유저의 행은 연속으로 나오므로 한 유저씩 모아서 출력할 수 있다.
+    private static final String EXPORT_QUERY =
+            "select u.user_id, u.username, u.nickname, u.activated, ua.authority_name "
+                    + "from users u left join user_authority ua on ua.user_id = u.user_id "
+                    + "order by u.user_id";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate exportJdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public UserListingService(UserRepository userRepository, DataSource dataSource, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.exportJdbcTemplate = new JdbcTemplate(dataSource);
+        this.exportJdbcTemplate.setFetchSize(EXPORT_BATCH_SIZE);
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public UserPageDto getUsers(long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Object[]> rows = userRepository.findPageAfter(afterId, PageRequest.of(0, pageSize));
+        if (rows.isEmpty()) {
+            return new UserPageDto(List.of(), null);
+        }
+
+        //페이지의 유저들을 순서대로 담아두고 권한을 한번에 채운다.
+        Map<Long, UserDto> users = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            users.put((Long) row[0], UserDto.builder()
+                    .username((String) row[1])
+                    .nickname((String) row[2])
+                    .authorityDtoSet(new HashSet<>())
+                    .build());
+        }
+        for (Object[] row : userRepository.findAuthorityNamesByUserIds(users.keySet())) {
+            users.get((Long) row[0]).getAuthorityDtoSet()
+                    .add(AuthorityDto.builder().authorityName((String) row[1]).build());
+        }
+
+        Long lastId = (Long) rows.get(rows.size() - 1)[0];
+        return new UserPageDto(new ArrayList<>(users.values()), rows.size() < pageSize ? null : lastId);
+    }
+
+    //전체 유저를 JSON 배열로 출력한다. [{"userId":1,"username":"admin","nickname":"admin","activated":true,"authorities":["ROLE_ADMIN","ROLE_USER"]}, ...]
+    public void exportUsers(OutputStream outputStream) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(outputStream)) {
+            json.writeStartArray();
+            ExportWriter writer = new ExportWriter(json);
+            try {
+                exportJdbcTemplate.query(EXPORT_QUERY, writer);
+            } catch (UncheckedIOException e) {
+                //클라이언트가 연결을 끊으면 커서를 닫고 중단한다.
+                throw e.getCause();
+            }
+            writer.finish();
+            json.writeEndArray();
+        }
+    }
+
+    //커서의 행을 유저 단위로 모아서 JSON으로 출력한다. 메모리에는 현재 유저 한명만 들고 있다.
+    private static final class ExportWriter implements RowCallbackHandler {
+        private final JsonGenerator json;
+        private final List<String> authorities = new ArrayList<>();
+        private long userId = -1;
+        private String username;
+        private String nickname;
+        private boolean activated;
+        private int written;
+
+        private ExportWriter(JsonGenerator json) {
+            this.json = json;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rowUserId = rs.getLong("user_id");
+            if (rowUserId != userId) {
+                finish();
+                userId = rowUserId;
+                username = rs.getString("username");
+                nickname = rs.getString("nickname");
+                activated = rs.getBoolean("activated");
+            }
+            String authorityName = rs.getString("authority_name");
+            if (authorityName != null) {
+                authorities.add(authorityName);
+            }
+        }
+
+        private void finish() {
+            if (userId < 0) {
+                return;
+            }
+            try {
+                json.writeStartObject();
+                json.writeNumberField("userId", userId);
+                json.writeStringField("username", username);
+                json.writeStringField("nickname", nickname);
+                json.writeBooleanField("activated", activated);
+                json.writeArrayFieldStart("authorities");
+                for (String authority : authorities) {
+                    json.writeString(authority);
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+                //일정 개수마다 클라이언트로 내보낸다.
+                if (++written % EXPORT_BATCH_SIZE == 0) {
+                    json.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            authorities.clear();
+            userId = -1;
+        }
+    }
+}
@@ -9,6 +9,9 @@ import com.example.jwttutorialinflearn.Exception.DuplicateMemberException;
 import com.example.jwttutorialinflearn.Exception.NotFoundMemberException;
 import com.example.jwttutorialinflearn.Repository.UserRepository;
 import com.example.jwttutorialinflearn.Util.SecurityUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,10 +20,18 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCacheService userCacheService;
+    private final boolean claimsProfileEnabled;
+    private final int claimsProfileVersion;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserCacheService userCacheService,
+                       @Value("${jwt.claims-profile.enabled:false}") boolean claimsProfileEnabled,
+                       @Value("${jwt.claims-profile.version:1}") int claimsProfileVersion) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userCacheService = userCacheService;
+        this.claimsProfileEnabled = claimsProfileEnabled;
+        this.claimsProfileVersion = claimsProfileVersion;
     }
 
     //회원가입
@@ -42,23 +53,34 @@ public class UserService {
                 .authorities(Collections.singleton(authority))
                 .activated(true)
                 .build();
-        //DB에 저장.
-        return UserDto.from(userRepository.save(user));
+        //DB에 저장하고, 혹시 남아있을 수 있는 캐시를 비운다.
+        UserDto saved = UserDto.from(userRepository.save(user));
+        userCacheService.evict(saved.getUsername());
+        return saved;
     }
     //유저, 권한정보를 가져오는 메소드 2개. 허용권한이 다르므로 권한검증에 대한 테스트로 사용할 것이다.
 
-    //username으로 유저 객체, 권한정보를 가져오는 메소드
-    @Transactional(readOnly = true)
+    //username으로 유저 객체, 권한정보를 가져오는 메소드 (캐시 사용)
     public UserDto getUserWithAuthorities(String username) {
-        return UserDto.from(userRepository.findOneWithAuthoritiesByUsername(username).orElse(null));
+        return UserDto.from(userCacheService.findByUsername(username));
     }
 
-    //현재 SecurityContext에 저장된 username에 해당하는 유저 객체와 권한정보를 가져오는 메소드
-    @Transactional(readOnly = true)
+    //현재 SecurityContext에 저장된 username에 해당하는 유저 객체와 권한정보를 가져오는 메소드 (캐시 사용)
+    //토큰에 현재 버전 이상의 프로필 클레임이 있으면 DB나 캐시를 거치지 않고 토큰 정보로 응답한다.
     public UserDto getMyUserWithAuthorities() {
+        return getMyUserWithAuthorities(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    //SecurityContextHolder를 쓸 수 없는 reactive 컨트롤러에서는 Authentication을 직접 넘긴다.
+    public UserDto getMyUserWithAuthorities(Authentication authentication) {
+        if (claimsProfileEnabled && authentication != null
+                && authentication.getPrincipal() instanceof CustomUserDetails user
+                && user.getNickname() != null && user.getProfileVersion() >= claimsProfileVersion) {
+            return UserDto.from(user);
+        }
         return UserDto.from(
-                SecurityUtil.getCurrentUsername()
-                        .flatMap(userRepository::findOneWithAuthoritiesByUsername)
+                SecurityUtil.getUsername(authentication)
+                        .map(userCacheService::findByUsername)
                         .orElseThrow(() -> new NotFoundMemberException("Member not found"))
         );
     }
@@ -0,0 +1,65 @@
+package com.example.jwttutorialinflearn.Util;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//권한 이름(ROLE_USER, ROLE_ADMIN ...)을 공유되는 불변 GrantedAuthority 객체로 바꿔주는 유틸리티.
+//권한 종류는 몇 개 되지 않으므로 한번 만든 객체를 계속 재사용한다.
+public class Authorities {
+
+    //권한 종류가 비정상적으로 많아져도 메모리가 계속 늘어나지 않도록 상한을 둔다.
+    private static final int MAX_INTERNED = 1024;
+    private static final Map<String, GrantedAuthority> INTERNED = new ConcurrentHashMap<>();
+    //토큰의 권한 클레임 문자열("ROLE_USER,ROLE_ADMIN") -> 불변 권한 리스트
+    private static final Map<String, List<GrantedAuthority>> LISTS = new ConcurrentHashMap<>();
+
+    private Authorities() {}
+
+    public static GrantedAuthority of(String authorityName) {
+        GrantedAuthority authority = INTERNED.get(authorityName);
+        if (authority != null) {
+            return authority;
+        }
+        if (INTERNED.size() >= MAX_INTERNED) {
+            return new SimpleGrantedAuthority(authorityName);
+        }
+        return INTERNED.computeIfAbsent(authorityName, SimpleGrantedAuthority::new);
+    }
+
+    //','로 구분된 권한 클레임을 불변 권한 리스트로 바꾼다.
+    //권한 조합은 몇 가지 되지 않으므로 같은 클레임 문자열이면 처음 만든 리스트를 그대로 리턴한다. (요청마다 split, 리스트 생성이 없다)
+    public static List<GrantedAuthority> listOf(String authorityClaim) {
+        List<GrantedAuthority> authorities = LISTS.get(authorityClaim);
+        if (authorities != null) {
+            return authorities;
+        }
+        authorities = parse(authorityClaim);
+        if (LISTS.size() >= MAX_INTERNED) {
+            return authorities;
+        }
+        List<GrantedAuthority> previous = LISTS.putIfAbsent(authorityClaim, authorities);
+        return previous != null ? previous : authorities;
+    }
+
+    //String.split 대신 ','를 직접 찾아서 나눈다. 빈 항목은 건너뛴다.
+    private static List<GrantedAuthority> parse(String authorityClaim) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        int start = 0;
+        while (start < authorityClaim.length()) {
+            int end = authorityClaim.indexOf(',', start);
+            if (end < 0) {
+                end = authorityClaim.length();
+            }
+            if (end > start) {
+                authorities.add(of(authorityClaim.substring(start, end)));
+            }
+            start = end + 1;
+        }
+        return List.copyOf(authorities);
+    }
+}
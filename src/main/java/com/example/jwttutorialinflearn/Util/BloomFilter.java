@@ -0,0 +1,75 @@
+package com.example.jwttutorialinflearn.Util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+
+//문자열용 블룸 필터. mightContain이 false면 절대 들어있지 않고, true면 들어있을 수도 있다.
+//비트 배열은 AtomicLongArray라서 조회는 락 없이 여러 스레드에서 동시에 할 수 있다.
+public class BloomFilter {
+
+    private static final LongBinaryOperator OR = (left, right) -> left | right;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    //예상 원소 개수와 허용할 오탐률로 비트 수와 해시 함수 개수를 정한다.
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("잘못된 블룸 필터 설정입니다.");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (ln2 * ln2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+    }
+
+    public void put(CharSequence value) {
+        long hash = hash64(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(hash1, hash2, i);
+            words.getAndAccumulate((int) (bit >>> 6), 1L << bit, OR);
+        }
+    }
+
+    public boolean mightContain(CharSequence value) {
+        long hash = hash64(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(hash1, hash2, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //두 해시값을 조합해서 k개의 비트 위치를 만든다. (Kirsch-Mitzenmacher)
+    private long index(int hash1, int hash2, int i) {
+        long combined = hash1 + (long) i * hash2;
+        if (combined < 0) {
+            combined = ~combined;
+        }
+        return combined % bitCount;
+    }
+
+    //FNV-1a 64bit 해시에 murmur3 fmix64로 비트를 섞는다. 문자열을 byte[]로 바꾸지 않는다.
+    private static long hash64(CharSequence value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
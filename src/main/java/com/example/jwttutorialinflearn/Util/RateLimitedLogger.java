@@ -0,0 +1,80 @@
+package com.example.jwttutorialinflearn.Util;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+//일정 시간 동안 정해진 개수까지만 로그를 남기는 Logger 래퍼.
+//잘못된 토큰이 대량으로 들어와도 로그 출력(I/O)이 병목이 되지 않도록 한다.
+//생략된 로그 수는 다음 구간에서 처음 로그를 남길 때 한 줄로 알려준다.
+public class RateLimitedLogger {
+
+    private final Logger logger;
+    private final int permitsPerInterval;
+    private final long intervalNanos;
+
+    private final long origin;
+    //상위 32bit: 구간 번호, 하위 32bit: 그 구간에서 사용한 개수.
+    //구간이 바뀔 때 번호와 개수를 CAS 한번으로 같이 바꾸므로 구간 경계에서 개수가 사라지지 않는다.
+    private final AtomicLong state = new AtomicLong();
+    private final LongAdder suppressed = new LongAdder();
+
+    public RateLimitedLogger(Logger logger, int permitsPerInterval, Duration interval) {
+        this.logger = logger;
+        this.permitsPerInterval = permitsPerInterval;
+        this.intervalNanos = interval.toNanos();
+        this.origin = System.nanoTime();
+    }
+
+    public void info(String message) {
+        if (logger.isInfoEnabled() && tryAcquire()) {
+            logger.info(message);
+        }
+    }
+
+    public void info(String format, Object argument) {
+        if (logger.isInfoEnabled() && tryAcquire()) {
+            logger.info(format, argument);
+        }
+    }
+
+    public void warn(String format, Object argument) {
+        if (logger.isWarnEnabled() && tryAcquire()) {
+            logger.warn(format, argument);
+        }
+    }
+
+    private boolean tryAcquire() {
+        int window = (int) ((System.nanoTime() - origin) / intervalNanos);
+        while (true) {
+            long current = state.get();
+            int currentWindow = (int) (current >>> 32);
+            int used = (int) current;
+            //다른 스레드가 이미 다음 구간을 시작했으면 그 구간으로 센다.
+            int target = window - currentWindow < 0 ? currentWindow : window;
+            boolean newWindow = target != currentWindow;
+            if (!newWindow && used >= permitsPerInterval) {
+                suppressed.increment();
+                return false;
+            }
+            long next = ((long) target << 32) | (newWindow ? 1 : used + 1);
+            if (state.compareAndSet(current, next)) {
+                //새 구간을 시작한 스레드 하나만 직전 구간의 생략 건수를 알린다.
+                if (newWindow) {
+                    reportSuppressed();
+                }
+                return true;
+            }
+        }
+    }
+
+    private void reportSuppressed() {
+        long dropped = suppressed.sumThenReset();
+        if (dropped > 0) {
+            logger.warn("로그가 너무 많아 직전 {}초 동안 {}건을 생략했습니다.",
+                    Duration.ofNanos(intervalNanos).toSeconds(), dropped);
+        }
+    }
+}
@@ -17,8 +17,11 @@ public class SecurityUtil {
     //username을 반환해주는 메소드
     public static Optional<String> getCurrentUsername() {
         //SecurityContext에서 Authentication 객체를 꺼내온다.
-        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return getUsername(SecurityContextHolder.getContext().getAuthentication());
+    }
 
+    //Authentication 객체에서 username을 꺼낸다. (reactive에서는 ReactiveSecurityContextHolder의 Authentication을 넘긴다)
+    public static Optional<String> getUsername(Authentication authentication) {
         //이 Authentication 객체를 이용해서 username을 반환해주는 간단한 유틸리티성 메소드이다.
         if (authentication == null) {
             logger.debug("Security Context에 인증 정보가 없습니다.");
@@ -0,0 +1,88 @@
+package com.example.jwttutorialinflearn.Audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTest {
+
+	@Test
+	void rejectsWhenFullAndAcceptsAfterDrain() {
+		AuditRingBuffer buffer = new AuditRingBuffer(4);
+		for (int i = 0; i < 4; i++) {
+			assertThat(buffer.offer(record(i))).isTrue();
+		}
+		assertThat(buffer.offer(record(4))).isFalse();
+		assertThat(buffer.size()).isEqualTo(4);
+
+		List<AuditRecord> drained = new ArrayList<>();
+		assertThat(buffer.drainTo(drained, 2)).isEqualTo(2);
+		assertThat(drained).extracting(record -> record.detail).containsExactly("0", "1");
+		assertThat(buffer.offer(record(4))).isTrue();
+		assertThat(buffer.offer(record(5))).isTrue();
+		assertThat(buffer.offer(record(6))).isFalse();
+
+		drained.clear();
+		assertThat(buffer.drainTo(drained, 10)).isEqualTo(4);
+		assertThat(drained).extracting(record -> record.detail).containsExactly("2", "3", "4", "5");
+		assertThat(buffer.size()).isZero();
+	}
+
+	@Test
+	void roundsCapacityUpToPowerOfTwo() {
+		assertThat(new AuditRingBuffer(5000).capacity()).isEqualTo(8192);
+		assertThat(new AuditRingBuffer(8192).capacity()).isEqualTo(8192);
+	}
+
+	@Test
+	void concurrentProducersLoseNothing() throws InterruptedException {
+		AuditRingBuffer buffer = new AuditRingBuffer(1024);
+		int producers = 4;
+		int perProducer = 20_000;
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		CountDownLatch start = new CountDownLatch(1);
+		for (int p = 0; p < producers; p++) {
+			int producer = p;
+			executor.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int i = 0; i < perProducer; i++) {
+					AuditRecord record = record(producer * perProducer + i);
+					while (!buffer.offer(record)) {
+						Thread.onSpinWait();
+					}
+				}
+			});
+		}
+		start.countDown();
+
+		Set<String> seen = new HashSet<>();
+		List<AuditRecord> drained = new ArrayList<>();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+			buffer.drainTo(drained, 256);
+			drained.forEach(record -> seen.add(record.detail));
+			drained.clear();
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(seen).hasSize(producers * perProducer);
+	}
+
+	private static AuditRecord record(int index) {
+		return new AuditRecord(0, AuditEventType.LOGIN_SUCCESS, "user", Integer.toString(index), null);
+	}
+}
@@ -0,0 +1,114 @@
+package com.example.jwttutorialinflearn.Controller;
+
+import com.example.jwttutorialinflearn.Audit.AuditLog;
+import com.example.jwttutorialinflearn.Dto.LoginDto;
+import com.example.jwttutorialinflearn.Dto.TokenDto;
+import com.example.jwttutorialinflearn.Jwt.TokenProvider;
+import com.example.jwttutorialinflearn.RateLimit.AuthRateLimiter;
+import com.example.jwttutorialinflearn.RateLimit.InMemoryTokenBucketRateLimiter;
+import com.example.jwttutorialinflearn.Service.RefreshTokenService;
+import com.example.jwttutorialinflearn.Service.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthControllerTest {
+
+	private static final String PASSWORD = "correct-password";
+
+	private AuthController authController;
+
+	@BeforeEach
+	void setUp() {
+		AuthenticationManager authenticationManager = authentication -> {
+			if (!PASSWORD.equals(authentication.getCredentials())) {
+				throw new BadCredentialsException("bad credentials");
+			}
+			return UsernamePasswordAuthenticationToken.authenticated(authentication.getName(), null,
+					AuthorityUtils.createAuthorityList("ROLE_USER"));
+		};
+		AuthenticationManagerBuilder authenticationManagerBuilder = mock(AuthenticationManagerBuilder.class);
+		when(authenticationManagerBuilder.getObject()).thenReturn(authenticationManager);
+		TokenProvider tokenProvider = mock(TokenProvider.class);
+		when(tokenProvider.createToken(any(Authentication.class))).thenReturn("access-token");
+		RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+		when(refreshTokenService.issue(any())).thenReturn("refresh-token");
+
+		AuthRateLimiter authRateLimiter = new AuthRateLimiter(new InMemoryTokenBucketRateLimiter(1000),
+				new SimpleMeterRegistry(), true, 20, 2, 5, 0.2);
+		authController = new AuthController(tokenProvider, authenticationManagerBuilder, refreshTokenService,
+				mock(TokenRevocationService.class), authRateLimiter, mock(AuditLog.class));
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void ownerStillLogsInWhileAttackerIsHammeringTheAccount() {
+		for (int i = 0; i < 50; i++) {
+			try {
+				authController.authorize(login("owner", "guess-" + i), request("203.0.113.7"));
+			} catch (BadCredentialsException ignored) {
+				//처음 5번은 비밀번호 검증까지 가고, 이후에는 429로 막힌다.
+			}
+		}
+		assertThat(authController.authorize(login("owner", "guess"), request("203.0.113.7")).getStatusCode())
+				.isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+		ResponseEntity<TokenDto> response = authController.authorize(login("owner", PASSWORD), request("198.51.100.2"));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody().getToken()).isEqualTo("access-token");
+	}
+
+	@Test
+	void successfulLoginsDoNotSpendTheLimit() {
+		for (int i = 0; i < 20; i++) {
+			assertThat(authController.authorize(login("owner", PASSWORD), request("198.51.100.2")).getStatusCode())
+					.isEqualTo(HttpStatus.OK);
+		}
+	}
+
+	@Test
+	void repeatedFailuresFromOneClientAreRejectedBeforePasswordCheck() {
+		for (int i = 0; i < 5; i++) {
+			int attempt = i;
+			assertThatThrownBy(() -> authController.authorize(login("Owner", "guess-" + attempt), request("203.0.113.7")))
+					.isInstanceOf(BadCredentialsException.class);
+		}
+
+		ResponseEntity<TokenDto> response = authController.authorize(login("OWNER", PASSWORD), request("203.0.113.7"));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+		assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("5");
+	}
+
+	private static LoginDto login(String username, String password) {
+		return LoginDto.builder().username(username).password(password).build();
+	}
+
+	private static MockHttpServletRequest request(String clientIp) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/authenticate");
+		request.setRemoteAddr(clientIp);
+		return request;
+	}
+}
@@ -0,0 +1,93 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrecomputedRoleAuthorizationManagerTest {
+
+	private static final long DELEGATE = 0;
+	private static final long USER = 1L;
+	private static final long ADMIN = 1L << 1;
+
+	private final AuthorityRegistry registry = AuthorityRegistry.parse("ROLE_USER,ROLE_ADMIN,READ");
+
+	@Test
+	void compilesRoleChecks() {
+		assertThat(compile("hasRole('ADMIN')")).isEqualTo(ADMIN);
+		assertThat(compile("hasAnyRole('USER','ADMIN')")).isEqualTo(USER | ADMIN);
+		//hasRole('ROLE_X')는 SpEL에 맡긴다.
+		assertThat(compile("hasRole('ROLE_ADMIN')")).isEqualTo(DELEGATE);
+	}
+
+	@Test
+	void compilesAuthorityChecks() {
+		assertThat(compile("hasAuthority('READ')")).isEqualTo(1L << 2);
+		assertThat(compile("hasAnyAuthority('ROLE_USER', 'READ')")).isEqualTo(USER | 1L << 2);
+		assertThat(compile("hasAuthority('ROLE_USER','READ')")).isEqualTo(DELEGATE);
+	}
+
+	@Test
+	void acceptsBothQuoteStylesAndWhitespace() {
+		assertThat(compile("  hasAnyRole ( 'USER' ,\t\"ADMIN\" )  ")).isEqualTo(USER | ADMIN);
+		assertThat(compile("hasRole(\"ADMIN\")")).isEqualTo(ADMIN);
+		assertThat(compile("hasRole('ADMIN\")")).isEqualTo(DELEGATE);
+		assertThat(compile("hasRole(ADMIN)")).isEqualTo(DELEGATE);
+	}
+
+	@Test
+	void delegatesComplexOrUnknownExpressions() {
+		assertThat(compile("hasRole('ADMIN') and #id == 1")).isEqualTo(DELEGATE);
+		assertThat(compile("hasRole('ADMIN') and hasRole('USER')")).isEqualTo(DELEGATE);
+		assertThat(compile("hasRole('MANAGER')")).isEqualTo(DELEGATE);
+		assertThat(compile("@securityBean.check(authentication)")).isEqualTo(DELEGATE);
+	}
+
+	@Test
+	void checksMaskOrFallsBackToDelegate() throws NoSuchMethodException {
+		AtomicInteger delegateCalls = new AtomicInteger();
+		PrecomputedRoleAuthorizationManager manager = new PrecomputedRoleAuthorizationManager(registry,
+				(authentication, invocation) -> {
+					delegateCalls.incrementAndGet();
+					return new AuthorizationDecision(true);
+				});
+		TestingAuthenticationToken user = new TestingAuthenticationToken("user", null, "ROLE_USER");
+		Secured target = new Secured();
+
+		AuthorizationDecision admin = manager.check(() -> user,
+				new SimpleMethodInvocation(target, Secured.class.getMethod("admin")));
+		AuthorizationDecision any = manager.check(() -> user,
+				new SimpleMethodInvocation(target, Secured.class.getMethod("any")));
+		AuthorizationDecision complex = manager.check(() -> user,
+				new SimpleMethodInvocation(target, Secured.class.getMethod("complex", long.class), 1L));
+
+		assertThat(admin.isGranted()).isFalse();
+		assertThat(any.isGranted()).isTrue();
+		assertThat(complex.isGranted()).isTrue();
+		assertThat(delegateCalls).hasValue(1);
+	}
+
+	private long compile(String expression) {
+		return PrecomputedRoleAuthorizationManager.compile(registry, expression);
+	}
+
+	static class Secured {
+		@PreAuthorize("hasRole('ADMIN')")
+		public void admin() {
+		}
+
+		@PreAuthorize("hasAnyRole('USER','ADMIN')")
+		public void any() {
+		}
+
+		@PreAuthorize("hasRole('ADMIN') and #id == 1")
+		public void complex(long id) {
+		}
+	}
+}
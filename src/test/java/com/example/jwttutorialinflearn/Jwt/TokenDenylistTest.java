@@ -0,0 +1,94 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import com.example.jwttutorialinflearn.Util.BloomFilter;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDenylistTest {
+
+	private static final long NOW = 1_700_000_000_500L;
+	private static final long EXPIRES_AT = NOW + 60_000;
+
+	@Test
+	void rejectsRevokedTokenId() {
+		TokenDenylist denylist = new TokenDenylist(1000, 0.01);
+		denylist.revokeToken("revoked", EXPIRES_AT);
+
+		assertThat(denylist.isRevoked(claims("revoked", "user", NOW))).isTrue();
+		assertThat(denylist.isRevoked(claims("other", "user", NOW))).isFalse();
+	}
+
+	@Test
+	void rejectsTokenIssuedInSameSecondAsUserRevocation() {
+		TokenDenylist denylist = new TokenDenylist(1000, 0.01);
+		//NOW는 초의 중간(500ms)이다. 폐기 직전 같은 초에 발급된 토큰의 iat는 초 단위로 내림되어 NOW - 500이 된다.
+		denylist.revokeUser("user", NOW, EXPIRES_AT);
+
+		assertThat(denylist.isRevoked(claims("before", "user", NOW - 1000))).isTrue();
+		assertThat(denylist.isRevoked(claims("same-second", "user", NOW - 1))).isTrue();
+		assertThat(denylist.isRevoked(claims("no-iat", "user", -1))).isTrue();
+		assertThat(denylist.isRevoked(claims("after", "user", NOW + 1000))).isFalse();
+		assertThat(denylist.isRevoked(claims("other-user", "other", NOW - 1000))).isFalse();
+	}
+
+	@Test
+	void reloginInSameSecondIsIssuedAfterCutoff() {
+		TokenDenylist denylist = new TokenDenylist(1000, 0.01);
+		denylist.revokeUser("user", NOW, EXPIRES_AT);
+
+		long issuedAt = denylist.issuedAtFor("user", NOW + 1);
+
+		assertThat(issuedAt).isEqualTo(NOW - 500 + 1000);
+		assertThat(denylist.isRevoked(claims("relogin", "user", issuedAt))).isFalse();
+		assertThat(denylist.issuedAtFor("user", NOW + 5000)).isEqualTo(NOW + 5000);
+		assertThat(denylist.issuedAtFor("other", NOW)).isEqualTo(NOW);
+	}
+
+	@Test
+	void bloomFalsePositiveFallsThroughToExactSet() {
+		//비트가 64개뿐인 필터에 많이 넣어서 거의 모든 값이 "있을 수도 있다"가 되게 만든다.
+		TokenDenylist denylist = new TokenDenylist(1, 0.5);
+		BloomFilter sameFilter = new BloomFilter(1, 0.5);
+		for (int i = 0; i < 200; i++) {
+			denylist.revokeToken("revoked-" + i, EXPIRES_AT);
+			sameFilter.put("revoked-" + i);
+		}
+		assertThat(sameFilter.mightContain("not-revoked")).isTrue();
+
+		assertThat(denylist.isRevoked(claims("not-revoked", "user", NOW))).isFalse();
+		assertThat(denylist.isRevoked(claims("revoked-7", "user", NOW))).isTrue();
+	}
+
+	@Test
+	void purgeExpiredRemovesOnlyExpiredEntries() {
+		TokenDenylist denylist = new TokenDenylist(1000, 0.01);
+		denylist.revokeToken("expired", NOW - 1);
+		denylist.revokeToken("live", EXPIRES_AT);
+		denylist.revokeUser("expired-user", NOW - 5000, NOW - 1);
+		denylist.revokeUser("live-user", NOW - 5000, EXPIRES_AT);
+
+		denylist.purgeExpired(NOW);
+
+		assertThat(denylist.getRevokedTokenCount()).isEqualTo(1);
+		assertThat(denylist.getRevokedUserCount()).isEqualTo(1);
+		assertThat(denylist.isRevoked(claims("expired", "user", NOW))).isFalse();
+		assertThat(denylist.isRevoked(claims("live", "user", NOW))).isTrue();
+		assertThat(denylist.isRevoked(claims("x", "expired-user", NOW - 10_000))).isFalse();
+		assertThat(denylist.isRevoked(claims("y", "live-user", NOW - 10_000))).isTrue();
+	}
+
+	//iatMillis가 음수이면 iat 없이 만든다. iat는 JWT처럼 초 단위로 내림한다.
+	private static Claims claims(String tokenId, String username, long iatMillis) {
+		Claims claims = Jwts.claims().setSubject(username);
+		claims.setId(tokenId);
+		if (iatMillis >= 0) {
+			claims.setIssuedAt(new Date(iatMillis / 1000 * 1000));
+		}
+		return claims;
+	}
+}
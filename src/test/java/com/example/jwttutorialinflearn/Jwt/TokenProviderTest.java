@@ -0,0 +1,45 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenProviderTest {
+
+	private static final String SECRET = "c2lsdmVybmluZS10ZWNoLXNwcmluZy1ib290LWp3dC10dXRvcmlhbC1zZWNyZXQtc2lsdmVybmluZS10ZWNoLXNwcmluZy1ib290LWp3dC10dXRvcmlhbC1zZWNyZXQK";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private TokenProvider tokenProvider;
+
+	@BeforeEach
+	void setUp() {
+		tokenProvider = new TokenProvider(SECRET, "HS512", "", "default", "", 0, 3600, false, 10000,
+				false, 1, false, "ROLE_USER,ROLE_ADMIN", new AuthMetrics(meterRegistry), new TokenDenylist(1000, 0.01));
+		tokenProvider.afterPropertiesSet();
+	}
+
+	@Test
+	void separatesMalformedTokensFromForgedSignatures() {
+		String token = tokenProvider.createToken(UsernamePasswordAuthenticationToken.authenticated("user", null,
+				AuthorityUtils.createAuthorityList("ROLE_USER")));
+		int signatureStart = token.lastIndexOf('.') + 1;
+		char replaced = token.charAt(signatureStart + 10) == 'A' ? 'B' : 'A';
+		String forged = token.substring(0, signatureStart + 10) + replaced + token.substring(signatureStart + 11);
+
+		assertThat(tokenProvider.verifyToken(token).isValid()).isTrue();
+		assertThat(tokenProvider.verifyToken(forged).getStatus()).isEqualTo(TokenStatus.INVALID_SIGNATURE);
+		assertThat(tokenProvider.verifyToken("not-a-jwt").getStatus()).isEqualTo(TokenStatus.MALFORMED);
+		assertThat(tokenProvider.verifyToken("header.payload").getStatus()).isEqualTo(TokenStatus.MALFORMED);
+
+		assertThat(failures("malformed")).isEqualTo(2);
+		assertThat(failures("invalid_signature")).isEqualTo(1);
+	}
+
+	private double failures(String reason) {
+		return meterRegistry.get("auth.token.failures").tag("reason", reason).counter().count();
+	}
+}
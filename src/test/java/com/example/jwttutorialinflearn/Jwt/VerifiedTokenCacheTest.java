@@ -0,0 +1,46 @@
+package com.example.jwttutorialinflearn.Jwt;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+	private static final long EXPIRES_AT = System.currentTimeMillis() + 3_600_000;
+
+	@Test
+	void findsTokenInsideAuthorizationHeader() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(100);
+		TokenValidationResult result = TokenValidationResult.valid(Jwts.claims().setSubject("user"));
+		cache.put("header.payload.signature", result, EXPIRES_AT);
+
+		assertThat(cache.get("Bearer header.payload.signature", 7)).isSameAs(result);
+		assertThat(cache.get("header.payload.signature")).isSameAs(result);
+		assertThat(cache.get("Bearer header.payload.signaturX", 7)).isNull();
+		assertThat(cache.get("Bearer header.payload.signature2", 7)).isNull();
+		assertThat(cache.get("Bearer ", 7)).isNull();
+		assertThat(cache.getHitCount()).isEqualTo(2);
+	}
+
+	@Test
+	void doesNotReturnExpiredEntries() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(100);
+		cache.put("expired", TokenValidationResult.valid(Jwts.claims()), System.currentTimeMillis() - 1);
+
+		assertThat(cache.get("expired")).isNull();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void neverHoldsMoreThanMaxSize() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(64);
+		for (int i = 0; i < 1000; i++) {
+			cache.put("token-" + i, TokenValidationResult.valid(Jwts.claims()), EXPIRES_AT + i);
+		}
+
+		assertThat(cache.size()).isLessThanOrEqualTo(64);
+		assertThat(cache.getEvictionCount()).isEqualTo(1000 - cache.size());
+		assertThat(cache.get("token-999")).isNotNull();
+	}
+}
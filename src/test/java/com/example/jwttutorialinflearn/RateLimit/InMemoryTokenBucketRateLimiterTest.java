@@ -0,0 +1,136 @@
+package com.example.jwttutorialinflearn.RateLimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryTokenBucketRateLimiterTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+	private final RateLimitPolicy policy = new RateLimitPolicy("test", 3, 1);
+
+	@Test
+	void allowsCapacityThenRejectsWithRetryAfter() {
+		InMemoryTokenBucketRateLimiter limiter = new InMemoryTokenBucketRateLimiter(100, clock::get);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(limiter.tryAcquire(policy, "a").isAllowed()).isTrue();
+		}
+		RateLimitDecision rejected = limiter.tryAcquire(policy, "a");
+		assertThat(rejected.isAllowed()).isFalse();
+		assertThat(rejected.getRetryAfterNanos()).isEqualTo(SECOND);
+		assertThat(rejected.getRetryAfterSeconds()).isEqualTo(1);
+	}
+
+	@Test
+	void refillsOverTime() {
+		InMemoryTokenBucketRateLimiter limiter = new InMemoryTokenBucketRateLimiter(100, clock::get);
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire(policy, "a");
+		}
+
+		clock.addAndGet(SECOND);
+		assertThat(limiter.tryAcquire(policy, "a").isAllowed()).isTrue();
+		assertThat(limiter.tryAcquire(policy, "a").isAllowed()).isFalse();
+
+		//오래 쉬어도 capacity 이상 쌓이지 않는다.
+		clock.addAndGet(60 * SECOND);
+		for (int i = 0; i < 3; i++) {
+			assertThat(limiter.tryAcquire(policy, "a").isAllowed()).isTrue();
+		}
+		assertThat(limiter.tryAcquire(policy, "a").isAllowed()).isFalse();
+	}
+
+	@Test
+	void keysAndPoliciesAreIndependent() {
+		InMemoryTokenBucketRateLimiter limiter = new InMemoryTokenBucketRateLimiter(100, clock::get);
+		RateLimitPolicy other = new RateLimitPolicy("other", 1, 1);
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire(policy, "a");
+		}
+
+		assertThat(limiter.tryAcquire(policy, "a").isAllowed()).isFalse();
+		assertThat(limiter.tryAcquire(policy, "b").isAllowed()).isTrue();
+		assertThat(limiter.tryAcquire(other, "a").isAllowed()).isTrue();
+	}
+
+	@Test
+	void evictsRefilledBucketsAndBoundsKeyCount() {
+		InMemoryTokenBucketRateLimiter limiter = new InMemoryTokenBucketRateLimiter(10, clock::get);
+		for (int i = 0; i < 100; i++) {
+			limiter.tryAcquire(policy, "key-" + i);
+		}
+		assertThat(limiter.size("test")).isLessThanOrEqualTo(10);
+
+		clock.addAndGet(SECOND);
+		limiter.evictIdle();
+		assertThat(limiter.size("test")).isZero();
+	}
+
+	@Test
+	void floodingNewKeysDoesNotResetThrottledBuckets() {
+		InMemoryTokenBucketRateLimiter limiter = new InMemoryTokenBucketRateLimiter(10, clock::get);
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire(policy, "victim");
+		}
+		assertThat(limiter.tryAcquire(policy, "victim").isAllowed()).isFalse();
+
+		//sweep 주기가 지나도록 시간을 흘리면서 임의의 키를 대량으로 만든다.
+		int allowedNewKeys = 0;
+		for (int i = 0; i < 1000; i++) {
+			clock.addAndGet(SECOND / 1000);
+			if (limiter.tryAcquire(policy, "random-" + i).isAllowed()) {
+				allowedNewKeys++;
+			}
+		}
+
+		assertThat(limiter.size("test")).isLessThanOrEqualTo(10);
+		//victim의 버킷은 아직 채워지는 중이므로 지워지지 않는다. (1초에 1개씩 채워진다)
+		assertThat(limiter.tryAcquire(policy, "victim").isAllowed()).isTrue();
+		assertThat(limiter.tryAcquire(policy, "victim").isAllowed()).isFalse();
+		//자리가 없을 때의 새 키들은 하나의 공용 버킷을 같이 쓴다.
+		assertThat(allowedNewKeys).isLessThan(20);
+		assertThat(limiter.peek(policy, "another-random").isAllowed()).isFalse();
+	}
+
+	@Test
+	void neverAllowsMoreThanCapacityUnderContention() throws InterruptedException {
+		InMemoryTokenBucketRateLimiter limiter = new InMemoryTokenBucketRateLimiter(100, clock::get);
+		RateLimitPolicy burst = new RateLimitPolicy("burst", 50, 1);
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger allowed = new AtomicInteger();
+		try {
+			for (int t = 0; t < threads; t++) {
+				executor.execute(() -> {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+					for (int i = 0; i < 100; i++) {
+						if (limiter.tryAcquire(burst, "shared").isAllowed()) {
+							allowed.incrementAndGet();
+						}
+					}
+				});
+			}
+			start.countDown();
+		} finally {
+			executor.shutdown();
+			assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		}
+		assertThat(allowed.get()).isEqualTo(50);
+	}
+}